@@ -0,0 +1,145 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.FitnessTracker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Starts the application for the benchmarks, backed by an in-memory H2 database seeded with synthetic users and trainings.
+ * The data is inserted by set based SQL statements, bypassing the application - so that a million of users is seeded
+ * in seconds, and the in-memory email search index stays empty.
+ * <p>
+ * The settings are passed as command line arguments, taking precedence over the {@code application.yml} and the profiles.
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] COMMON_ARGUMENTS = {
+            "--server.port=0",
+            "--mail.outbox.poll-interval=PT1H"};
+
+    private static final String IN_MEMORY_DATABASE = "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1";
+
+    private static final String[] QUIET_LOGGING = {
+            "--logging.level.root=WARN",
+            "--logging.level.org.springframework.security=OFF"};
+
+    private static final int SEED_CHUNK_SIZE = 1_000_000;
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * Starts the application with an empty database.
+     *
+     * @param profiles additional profiles to activate
+     * @return context of the started application, to be closed by the caller
+     */
+    public static ConfigurableApplicationContext start(String... profiles) {
+        return run(profiles, concat(new String[]{IN_MEMORY_DATABASE}, QUIET_LOGGING));
+    }
+
+    /**
+     * Starts the application with an empty database and the given settings.
+     *
+     * @param profiles  additional profiles to activate
+     * @param arguments additional settings, as {@code --name=value} arguments
+     * @return context of the started application, to be closed by the caller
+     */
+    public static ConfigurableApplicationContext start(String[] profiles, String... arguments) {
+        return run(profiles, concat(concat(new String[]{IN_MEMORY_DATABASE}, QUIET_LOGGING), arguments));
+    }
+
+    /**
+     * Starts the application with an empty database, logging as configured by the profiles - for the benchmarks
+     * measuring the logging itself.
+     *
+     * @param profiles additional profiles to activate
+     * @return context of the started application, to be closed by the caller
+     */
+    public static ConfigurableApplicationContext startWithLogging(String... profiles) {
+        return run(profiles, IN_MEMORY_DATABASE);
+    }
+
+    /**
+     * Starts the application with the {@code persistent} profile, on the H2 database file at the given path.
+     *
+     * @param database  path of the database file, without the {@code .mv.db} extension
+     * @param arguments additional settings, as {@code --name=value} arguments
+     * @return context of the started application, to be closed by the caller
+     */
+    public static ConfigurableApplicationContext startPersistent(Path database, String... arguments) {
+        return run(new String[]{"persistent"},
+                concat(concat(new String[]{"--storage.h2.path=" + database.toAbsolutePath()}, QUIET_LOGGING), arguments));
+    }
+
+    /**
+     * Creates the persistent database with the given number of users and trainings, unless its file already exists -
+     * seeding ten millions of trainings takes minutes, so the database is shared by the benchmarks and their forks.
+     * Delete the file after changing the schema or the sizes.
+     *
+     * @param database  path of the database file, without the {@code .mv.db} extension
+     * @param users     number of the users
+     * @param trainings number of the trainings
+     */
+    public static void preparePersistentDatabase(Path database, int users, int trainings) {
+        if (Files.exists(Path.of(database + ".mv.db"))) {
+            return;
+        }
+        try (ConfigurableApplicationContext context = startPersistent(database)) {
+            seedUsers(context, users);
+            for (int from = 1; from <= trainings; from += SEED_CHUNK_SIZE) {
+                seedTrainings(context, users, from, Math.min(from + SEED_CHUNK_SIZE - 1, trainings));
+            }
+        }
+    }
+
+    /**
+     * Inserts the given number of users, with IDs from {@code 1} and emails {@code user<ID>@domain.com}.
+     *
+     * @param context context of the application
+     * @param users   number of the users
+     */
+    public static void seedUsers(ConfigurableApplicationContext context, int users) {
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO users (id, first_name, last_name, birthdate, email)
+                SELECT X, 'First' || X, 'Last' || X, DATEADD('DAY', -MOD(X, 20000), DATE '2005-01-01'), 'user' || X || '@domain.com'
+                FROM SYSTEM_RANGE(1, %d)""".formatted(users));
+    }
+
+    /**
+     * Inserts the given number of trainings, spread evenly over the already seeded users and activity types,
+     * one starting every minute from 2024-01-01.
+     *
+     * @param context   context of the application
+     * @param users     number of the seeded users
+     * @param trainings number of the trainings
+     */
+    public static void seedTrainings(ConfigurableApplicationContext context, int users, int trainings) {
+        seedTrainings(context, users, 1, trainings);
+    }
+
+    private static void seedTrainings(ConfigurableApplicationContext context, int users, int fromId, int toId) {
+        context.getBean(JdbcTemplate.class).update("""
+                INSERT INTO trainings (id, user_id, start_time, end_time, activity_type, distance, average_speed)
+                SELECT X, MOD(X - 1, %d) + 1,
+                       DATEADD('MINUTE', X, TIMESTAMP '2024-01-01 00:00:00'), DATEADD('MINUTE', X + 45, TIMESTAMP '2024-01-01 00:00:00'),
+                       MOD(X, 5), MOD(X, 20) + 0.5, 8.5
+                FROM SYSTEM_RANGE(%d, %d)""".formatted(users, fromId, toId));
+    }
+
+    private static ConfigurableApplicationContext run(String[] profiles, String... arguments) {
+        return new SpringApplicationBuilder(FitnessTracker.class)
+                .profiles(profiles)
+                .run(concat(COMMON_ARGUMENTS, arguments));
+    }
+
+    private static String[] concat(String[] first, String... second) {
+        return Stream.concat(Stream.of(first), Stream.of(second)).toArray(String[]::new);
+    }
+
+}
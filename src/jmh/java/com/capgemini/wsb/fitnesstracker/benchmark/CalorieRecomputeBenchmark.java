@@ -0,0 +1,56 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import com.capgemini.wsb.fitnesstracker.calories.api.CalorieService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.capgemini.wsb.fitnesstracker.benchmark.PersistentStartupBenchmark.DATABASE;
+import static com.capgemini.wsb.fitnesstracker.benchmark.PersistentStartupBenchmark.TRAININGS;
+import static com.capgemini.wsb.fitnesstracker.benchmark.PersistentStartupBenchmark.USERS;
+
+/**
+ * Bulk recomputation of the calories of the 10M trainings of the persistent database, including the rebuild
+ * of the statistics, by the given number of threads. The calories are reset before every iteration, so that every
+ * training is written back as after a change of the calorie model. The time grows linearly with the number of trainings.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CalorieRecomputeBenchmark {
+
+    @Param({"1", "4", "8"})
+    private int threads;
+
+    private ConfigurableApplicationContext context;
+
+    private CalorieService calorieService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        BenchmarkApplication.preparePersistentDatabase(DATABASE, USERS, TRAININGS);
+        context = BenchmarkApplication.startPersistent(DATABASE, "--calories.threads=" + threads);
+        calorieService = context.getBean(CalorieService.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetCalories() {
+        context.getBean(JdbcTemplate.class).update("UPDATE trainings SET calories_burned = 0");
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public long recomputeAllCalories() {
+        return calorieService.recomputeAllCalories();
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+
+/**
+ * Request latency under the logging configurations of the profiles - {@code dev} logs the security decisions
+ * synchronously (as every environment did before), the default and {@code prod} log INFO through the bounded
+ * asynchronous queue, as text and JSON. The requests pass the security filters; the console output is redirected
+ * to {@code target/logging-benchmark.log}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoggingOverheadBenchmark {
+
+    private static final int USERS = 10_000;
+
+    @Param({"dev", "default", "prod"})
+    private String profile;
+
+    private PrintStream console;
+
+    private ConfigurableApplicationContext context;
+
+    private MockMvc mockMvc;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws FileNotFoundException {
+        console = System.out;
+        System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream("target/logging-benchmark.log", true)), true));
+
+        context = "default".equals(profile) ? BenchmarkApplication.startWithLogging() : BenchmarkApplication.startWithLogging(profile);
+        BenchmarkApplication.seedUsers(context, USERS);
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+        System.out.close();
+        System.setOut(console);
+    }
+
+    @Benchmark
+    public int getUser() throws Exception {
+        return mockMvc.perform(get("/v1/users/{id}", randomUserId()).with(httpBasic("user", "password")))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+
+    @Benchmark
+    public int updateUser() throws Exception {
+        return mockMvc.perform(put("/v1/users/{id}", randomUserId())
+                        .with(httpBasic("admin", "password"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Updated\"}"))
+                .andReturn()
+                .getResponse()
+                .getStatus();
+    }
+
+    private static long randomUserId() {
+        return ThreadLocalRandom.current().nextLong(1, USERS + 1);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the application with the {@code persistent} profile, on an existing database file with 10M trainings -
+ * opening the MVStore file and validating the schema, instead of creating it. Every fork measures a single start
+ * of a fresh JVM.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+@State(Scope.Benchmark)
+public class PersistentStartupBenchmark {
+
+    static final Path DATABASE = Path.of("target", "benchmark-db", "fitness-tracker");
+
+    static final int USERS = 100_000;
+
+    static final int TRAININGS = 10_000_000;
+
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void prepareDatabase() {
+        BenchmarkApplication.preparePersistentDatabase(DATABASE, USERS, TRAININGS);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public ConfigurableApplicationContext start() {
+        context = BenchmarkApplication.startPersistent(DATABASE);
+        return context;
+    }
+
+}
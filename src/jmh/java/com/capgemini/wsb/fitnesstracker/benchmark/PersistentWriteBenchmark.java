@@ -0,0 +1,79 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.capgemini.wsb.fitnesstracker.benchmark.PersistentStartupBenchmark.DATABASE;
+import static com.capgemini.wsb.fitnesstracker.benchmark.PersistentStartupBenchmark.TRAININGS;
+import static com.capgemini.wsb.fitnesstracker.benchmark.PersistentStartupBenchmark.USERS;
+
+/**
+ * Sustained insert throughput of trainings into the persistent database already holding 10M trainings, with all
+ * three trainings indexes maintained. Concurrent writers commit batches of {@value #BATCH_SIZE} trainings,
+ * comparing the write on every commit with a delayed write. The inserted trainings are deleted afterwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class PersistentWriteBenchmark {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final long START_TIME = Timestamp.valueOf("2025-01-01 00:00:00").getTime();
+
+    @Param({"0", "500"})
+    private int writeDelay;
+
+    private ConfigurableApplicationContext context;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private final AtomicLong nextId = new AtomicLong(TRAININGS + 1L);
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        BenchmarkApplication.preparePersistentDatabase(DATABASE, USERS, TRAININGS);
+        context = BenchmarkApplication.startPersistent(DATABASE, "--storage.h2.write-delay=" + writeDelay);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        jdbcTemplate.update("DELETE FROM trainings WHERE id > ?", TRAININGS);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        jdbcTemplate.update("DELETE FROM trainings WHERE id > ?", TRAININGS);
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertTrainings() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long id = nextId.getAndIncrement();
+            long start = START_TIME + id * 60_000;
+            rows.add(new Object[]{id, random.nextInt(1, USERS + 1), new Timestamp(start), new Timestamp(start + 45 * 60_000),
+                    random.nextInt(5), random.nextDouble(1, 20), 8.5});
+        }
+        return transactionTemplate.execute(status -> jdbcTemplate.batchUpdate("""
+                INSERT INTO trainings (id, user_id, start_time, end_time, activity_type, distance, average_speed)
+                VALUES (?, ?, ?, ?, ?, ?, ?)""", rows));
+    }
+
+}
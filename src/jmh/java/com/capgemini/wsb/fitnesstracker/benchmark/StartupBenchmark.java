@@ -0,0 +1,121 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first served {@code GET /v1/users} of a freshly started JVM, in the startup modes of the application -
+ * regular, lazy initialization of the {@code fast-startup} profile, plus the Spring AOT processed context, plus the class
+ * data sharing archive. Every mode is started a number of times from the jar of the {@code fast-startup} build; the runs
+ * and their median are printed and written as JSON to the file given as the third argument.
+ * <p>
+ * Arguments: the application jar, the class data sharing archive and the result file.
+ */
+public final class StartupBenchmark {
+
+    private static final int RUNS = 5;
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path jar = Path.of(args[0]);
+        Path archive = Path.of(args[1]);
+        String lazy = "-Dspring.profiles.active=fast-startup";
+        String aot = "-Dspring.aot.enabled=true";
+
+        List<String> results = new ArrayList<>();
+        results.add(measure("regular", jar));
+        results.add(measure("lazy", jar, lazy));
+        results.add(measure("lazy-aot", jar, lazy, aot));
+        if (Files.exists(archive)) {
+            results.add(measure("lazy-aot-cds", jar, lazy, aot, "-XX:SharedArchiveFile=" + archive));
+        } else {
+            System.err.println("No class data sharing archive at " + archive + ", skipping the lazy-aot-cds mode");
+        }
+
+        String json = "[\n" + String.join(",\n", results) + "\n]\n";
+        System.out.print(json);
+        if (args.length > 2) {
+            Files.writeString(Path.of(args[2]), json);
+        }
+    }
+
+    private static String measure(String mode, Path jar, String... jvmArguments) throws IOException, InterruptedException {
+        long[] millis = new long[RUNS];
+        for (int run = 0; run < RUNS; run++) {
+            millis[run] = timeToFirstResponse(mode, jar, jvmArguments);
+        }
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+        return String.format(Locale.ROOT, "  {\"mode\": \"%s\", \"runsMillis\": %s, \"medianMillis\": %d}",
+                mode, Arrays.toString(millis), sorted[RUNS / 2]);
+    }
+
+    private static long timeToFirstResponse(String mode, Path jar, String... jvmArguments) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(List.of(jvmArguments));
+        command.addAll(List.of("-jar", jar.toString(), "--server.port=" + port, "--logging.level.root=WARN"));
+
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/v1/users"))
+                .header("Authorization", AUTHORIZATION)
+                .timeout(Duration.ofSeconds(10))
+                .build();
+
+        long started = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(new File(jar.getParent().toFile(), "startup-" + mode + ".log")))
+                .start();
+        try {
+            while (System.nanoTime() - started < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException("Application exited with " + process.exitValue() + " in the " + mode + " mode");
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+                    }
+                } catch (IOException e) {
+                    // not listening yet
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Application did not respond within " + TIMEOUT + " in the " + mode + " mode");
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.capgemini.wsb.fitnesstracker.benchmark;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test comparing the request execution on platform threads (the default Tomcat pool) with the
+ * {@code virtual-threads} profile. Every mode is started in turn with 10k seeded users and loaded by a fixed number
+ * of concurrent clients requesting pages of {@code GET /v1/users} over HTTP; the throughput and the latency
+ * percentiles of the measured period are printed and written as JSON to the file given as the first argument.
+ * The virtual thread mode needs Java 21+, on older runtimes it falls back to platform threads and is reported as such.
+ */
+public final class ThreadingLoadTest {
+
+    private static final int USERS = 10_000;
+
+    private static final int CONCURRENCY = 1_000;
+
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+
+    private static final String AUTHORIZATION = "Basic " + Base64.getEncoder().encodeToString("user:password".getBytes(StandardCharsets.UTF_8));
+
+    private ThreadingLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> results = new ArrayList<>();
+        results.add(run("platform"));
+        results.add(run("virtual", "virtual-threads"));
+
+        String json = "[\n" + String.join(",\n", results) + "\n]\n";
+        System.out.print(json);
+        if (args.length > 0) {
+            Files.writeString(Path.of(args[0]), json);
+        }
+    }
+
+    private static String run(String mode, String... profiles) throws InterruptedException, IOException {
+        try (ConfigurableApplicationContext context = BenchmarkApplication.start(profiles)) {
+            BenchmarkApplication.seedUsers(context, USERS);
+            boolean virtual = Threading.VIRTUAL.isActive(context.getEnvironment());
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/v1/users");
+
+            load(base, WARMUP, new ConcurrentLinkedQueue<>(), new AtomicLong());
+            ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+            AtomicLong errors = new AtomicLong();
+            load(base, MEASUREMENT, latencies, errors);
+
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+            return String.format(Locale.ROOT,
+                    "  {\"mode\": \"%s\", \"virtualThreads\": %s, \"concurrency\": %d, \"requests\": %d, \"errors\": %d, "
+                            + "\"throughputPerSecond\": %.1f, \"p50Millis\": %.2f, \"p99Millis\": %.2f, \"maxMillis\": %.2f}",
+                    mode, virtual, CONCURRENCY, sorted.length, errors.get(),
+                    sorted.length / (double) MEASUREMENT.toSeconds(),
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+        }
+    }
+
+    /**
+     * Keeps {@link #CONCURRENCY} requests in flight until the duration elapses, each client sending the next request
+     * as soon as the previous one completes.
+     */
+    private static void load(URI base, Duration duration, ConcurrentLinkedQueue<Long> latencies, AtomicLong errors) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        long deadline = System.nanoTime() + duration.toNanos();
+        CountDownLatch finished = new CountDownLatch(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            send(client, base, deadline, latencies, errors, finished);
+        }
+        finished.await();
+    }
+
+    private static void send(HttpClient client, URI base, long deadline, ConcurrentLinkedQueue<Long> latencies,
+                             AtomicLong errors, CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(base + "?limit=100&afterId=" + ThreadLocalRandom.current().nextInt(USERS)))
+                .header("Authorization", AUTHORIZATION)
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long start = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+            if (failure == null && response.statusCode() == 200) {
+                latencies.add(System.nanoTime() - start);
+            } else {
+                errors.incrementAndGet();
+            }
+            send(client, base, deadline, latencies, errors, finished);
+        });
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return Double.NaN;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000.0;
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.capgemini.wsb.fitnesstracker.config.security;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the HTTP Basic credential verification with bcrypt hashed passwords - checking the hash on every
+ * request versus the {@link CachingAuthenticationProvider} in the steady state, where the credentials were already verified.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AuthenticationBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private AuthenticationProvider provider;
+
+    @Setup(Level.Trial)
+    public void createProvider() {
+        PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        DaoAuthenticationProvider daoProvider = new DaoAuthenticationProvider(passwordEncoder);
+        daoProvider.setUserDetailsService(new InMemoryUserDetailsManager(User.withUsername("user")
+                .password(passwordEncoder.encode("password"))
+                .roles("USER")
+                .build()));
+        provider = cached ? new CachingAuthenticationProvider(daoProvider, Duration.ofMinutes(5), 10_000) : daoProvider;
+    }
+
+    @Benchmark
+    public Authentication authenticate() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("user", "password"));
+    }
+
+}
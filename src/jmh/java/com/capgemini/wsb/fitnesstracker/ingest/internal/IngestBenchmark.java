@@ -0,0 +1,80 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import com.capgemini.wsb.fitnesstracker.benchmark.BenchmarkApplication;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Acknowledged training uploads by 16 concurrent clients - appended to the ingest journal, waiting for its group flush,
+ * against created in the database by a transaction each. The throughput and the latency percentiles are both reported;
+ * in the journal mode the applier inserts the uploads in the background meanwhile.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+@Threads(16)
+@State(Scope.Benchmark)
+public class IngestBenchmark {
+
+    private static final int USERS = 1000;
+
+    @Param({"journal", "database"})
+    private String target;
+
+    private Path directory;
+
+    private ConfigurableApplicationContext context;
+
+    private IngestJournal journal;
+
+    private TrainingService trainingService;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        directory = Files.createTempDirectory("ingest-benchmark");
+        context = BenchmarkApplication.start(new String[]{"ingestJournal"}, "--ingest.directory=" + directory);
+        BenchmarkApplication.seedUsers(context, USERS);
+        journal = context.getBean(IngestJournal.class);
+        trainingService = context.getBean(TrainingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public Object upload() {
+        TrainingRequestDto training = randomTraining();
+        if (target.equals("journal")) {
+            return journal.append(TrainingUploadCodec.encode(training)).join();
+        }
+        return trainingService.createTraining(training);
+    }
+
+    private static TrainingRequestDto randomTraining() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long start = System.currentTimeMillis() - random.nextLong(TimeUnit.DAYS.toMillis(365));
+        return new TrainingRequestDto(random.nextLong(1, USERS + 1),
+                new Date(start),
+                new Date(start + TimeUnit.MINUTES.toMillis(45)),
+                ActivityType.values()[random.nextInt(ActivityType.values().length)],
+                random.nextDouble(1, 20),
+                8.5);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.statistics.api.WeeklyTrainingSummary;
+import com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering a single weekly report email from the precompiled template, compared with formatting the same
+ * text with {@link String#format}, which parses the format string on every call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeeklyReportRendererBenchmark {
+
+    private static final String SUBJECT = "Your training summary for the week of %s";
+
+    private static final String CONTENT = """
+            Hello,
+
+            here is the summary of your trainings in the week starting on %s.
+
+            Trainings this week: %d
+            Distance this week: %.2f km
+            Duration this week: %d h %02d min
+
+            Trainings in total: %d
+
+            Keep going!
+            """;
+
+    private final WeeklyReportRenderer renderer = new WeeklyReportRenderer();
+
+    private final UserEmailDto user = new UserEmailDto(1L, "john.doe@domain.com");
+
+    private final WeeklyTrainingSummary summary = new WeeklyTrainingSummary(1L, 124, 3, 27.35, 11_100);
+
+    private final LocalDate weekStart = LocalDate.of(2024, 4, 1);
+
+    @Benchmark
+    public EmailDto renderTemplate() {
+        return renderer.render(user, summary, weekStart);
+    }
+
+    @Benchmark
+    public EmailDto formatString() {
+        long minutes = summary.weekDurationSeconds() / 60;
+        String content = String.format(Locale.ROOT, CONTENT,
+                weekStart,
+                summary.weekTrainings(),
+                summary.weekDistance(),
+                minutes / 60,
+                minutes % 60,
+                summary.totalTrainings());
+        return new EmailDto(user.email(), SUBJECT.formatted(weekStart), content);
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of a block of an hour of per-second samples of a run - timestamps with occasional jitter,
+ * pace and heart rate drifting, coordinates of a GPS track with 7 decimal places. The compression ratio of every column
+ * against its raw size is printed on setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SampleCodecBenchmark {
+
+    private static final int COUNT = TrainingSampleServiceImpl.BLOCK_SIZE;
+
+    private final long[] timestamps = new long[COUNT];
+
+    private final double[] pace = new double[COUNT];
+
+    private final int[] heartRate = new int[COUNT];
+
+    private final double[] latitude = new double[COUNT];
+
+    private final double[] longitude = new double[COUNT];
+
+    private byte[] encodedTimestamps;
+
+    private byte[] encodedPace;
+
+    private byte[] encodedHeartRate;
+
+    private byte[] encodedLatitude;
+
+    private byte[] encodedLongitude;
+
+    @Setup(Level.Trial)
+    public void generateSamples() {
+        SplittableRandom random = new SplittableRandom(42);
+        long time = 1_717_200_000_000L;
+        double currentPace = 330;
+        int currentHeartRate = 110;
+        double currentLatitude = 52.2297;
+        double currentLongitude = 21.0122;
+        for (int i = 0; i < COUNT; i++) {
+            time += 1000 + (random.nextInt(10) == 0 ? random.nextInt(-20, 21) : 0);
+            currentPace = Math.max(180, currentPace + random.nextInt(-5, 6) / 10.0);
+            currentHeartRate = Math.max(60, currentHeartRate + random.nextInt(-2, 3));
+            currentLatitude += 3e-5 + random.nextInt(-5, 6) * 1e-7;
+            currentLongitude += 2e-5 + random.nextInt(-5, 6) * 1e-7;
+            timestamps[i] = time;
+            pace[i] = Math.round(currentPace * 10) / 10.0;
+            heartRate[i] = currentHeartRate;
+            latitude[i] = Math.round(currentLatitude * 1e7) / 1e7;
+            longitude[i] = Math.round(currentLongitude * 1e7) / 1e7;
+        }
+        encodedTimestamps = DeltaOfDeltaCodec.encode(timestamps, 0, COUNT);
+        encodedPace = XorDoubleCodec.encode(pace, 0, COUNT);
+        encodedHeartRate = VarintCodec.encode(heartRate, 0, COUNT);
+        encodedLatitude = XorDoubleCodec.encode(latitude, 0, COUNT);
+        encodedLongitude = XorDoubleCodec.encode(longitude, 0, COUNT);
+
+        int raw = COUNT * (Long.BYTES + 3 * Double.BYTES + Integer.BYTES);
+        int encoded = encodedTimestamps.length + encodedPace.length + encodedHeartRate.length + encodedLatitude.length + encodedLongitude.length;
+        System.out.printf(Locale.ROOT, "%nCompression of %d samples: timestamps %.1fx, pace %.1fx, heart rate %.1fx, latitude %.1fx, longitude %.1fx, total %d -> %d bytes (%.1fx)%n",
+                COUNT,
+                ratio(Long.BYTES, encodedTimestamps), ratio(Double.BYTES, encodedPace), ratio(Integer.BYTES, encodedHeartRate),
+                ratio(Double.BYTES, encodedLatitude), ratio(Double.BYTES, encodedLongitude),
+                raw, encoded, (double) raw / encoded);
+    }
+
+    @Benchmark
+    public void encodeAll(Blackhole blackhole) {
+        blackhole.consume(DeltaOfDeltaCodec.encode(timestamps, 0, COUNT));
+        blackhole.consume(XorDoubleCodec.encode(pace, 0, COUNT));
+        blackhole.consume(VarintCodec.encode(heartRate, 0, COUNT));
+        blackhole.consume(XorDoubleCodec.encode(latitude, 0, COUNT));
+        blackhole.consume(XorDoubleCodec.encode(longitude, 0, COUNT));
+    }
+
+    @Benchmark
+    public void decodeAll(Blackhole blackhole) {
+        blackhole.consume(DeltaOfDeltaCodec.decode(encodedTimestamps, COUNT));
+        blackhole.consume(XorDoubleCodec.decode(encodedPace, COUNT));
+        blackhole.consume(VarintCodec.decode(encodedHeartRate, COUNT));
+        blackhole.consume(XorDoubleCodec.decode(encodedLatitude, COUNT));
+        blackhole.consume(XorDoubleCodec.decode(encodedLongitude, COUNT));
+    }
+
+    /**
+     * Read of a heart rate chart - only the two requested columns are decoded.
+     */
+    @Benchmark
+    public void decodeTimestampsAndHeartRate(Blackhole blackhole) {
+        blackhole.consume(DeltaOfDeltaCodec.decode(encodedTimestamps, COUNT));
+        blackhole.consume(VarintCodec.decode(encodedHeartRate, COUNT));
+    }
+
+    @Benchmark
+    public long[] decodeTimestamps() {
+        return DeltaOfDeltaCodec.decode(encodedTimestamps, COUNT);
+    }
+
+    @Benchmark
+    public double[] decodeLatitude() {
+        return XorDoubleCodec.decode(encodedLatitude, COUNT);
+    }
+
+    private static double ratio(int valueBytes, byte[] encoded) {
+        return (double) COUNT * valueBytes / encoded.length;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.benchmark.BenchmarkApplication;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyset paginated {@link TrainingProvider} queries against a database seeded with 10k, 100k and 1M trainings
+ * of 10k users, reading first pages of 100 trainings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class TrainingQueryBenchmark {
+
+    private static final int USERS = 10_000;
+
+    private static final int LIMIT = 100;
+
+    private static final Instant FIRST_START = Instant.parse("2024-01-01T00:00:00Z");
+
+    @Param({"10000", "100000", "1000000"})
+    private int trainings;
+
+    private ConfigurableApplicationContext context;
+
+    private TrainingProvider trainingProvider;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seedUsers(context, USERS);
+        BenchmarkApplication.seedTrainings(context, USERS, trainings);
+        trainingProvider = context.getBean(TrainingProvider.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Training> findAllTrainings() {
+        return trainingProvider.findAllTrainings(null, LIMIT);
+    }
+
+    @Benchmark
+    public List<Training> findTrainingsByUser() {
+        return trainingProvider.findTrainingsByUser((long) ThreadLocalRandom.current().nextInt(1, USERS + 1), null, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<Training> findTrainingsByActivityType() {
+        return trainingProvider.findTrainingsByActivityType(ActivityType.CYCLING, null, null, LIMIT);
+    }
+
+    @Benchmark
+    public List<Training> findTrainingsFinishedAfter() {
+        // A random point within the seeded period, one training starts every minute.
+        Instant time = FIRST_START.plusSeconds(60L * ThreadLocalRandom.current().nextInt(trainings));
+        return trainingProvider.findTrainingsFinishedAfter(Date.from(time), null, null, LIMIT);
+    }
+
+}
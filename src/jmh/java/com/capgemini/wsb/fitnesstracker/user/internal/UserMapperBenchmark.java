@@ -0,0 +1,49 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.SimpleUserDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserDto;
+import com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions of the {@link UserMapper}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserMapperBenchmark {
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private final User user = new User("John", "Doe", LocalDate.of(1990, 5, 17), "john.doe@domain.com");
+
+    private final UserDto userDto = new UserDto(null, "John", "Doe", LocalDate.of(1990, 5, 17), "john.doe@domain.com");
+
+    @Benchmark
+    public UserDto toDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public SimpleUserDto toSimpleDto() {
+        return userMapper.toSimpleDto(user);
+    }
+
+    @Benchmark
+    public UserEmailDto toUserEmailDto() {
+        return userMapper.toUserEmailDto(user);
+    }
+
+    @Benchmark
+    public User toEntity() {
+        return userMapper.toEntity(userDto);
+    }
+
+}
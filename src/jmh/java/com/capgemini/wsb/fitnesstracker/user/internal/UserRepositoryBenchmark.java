@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.benchmark.BenchmarkApplication;
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserRepository} lookups against a database seeded with 10k, 100k and 1M users.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class UserRepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+
+    private UserRepository userRepository;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkApplication.start();
+        BenchmarkApplication.seedUsers(context, users);
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<User> findByEmail() {
+        return userRepository.findByEmail("user%d@domain.com".formatted(ThreadLocalRandom.current().nextInt(1, users + 1)));
+    }
+
+    /**
+     * A page of the users listing at a random position - loading all the users at once would measure the heap churn
+     * of materializing up to a million entities rather than the query.
+     */
+    @Benchmark
+    public List<User> findPage() {
+        long afterId = ThreadLocalRandom.current().nextInt(0, Math.max(1, users - Pagination.DEFAULT_LIMIT));
+        return userRepository.findPage(afterId, Limit.of(Pagination.DEFAULT_LIMIT));
+    }
+
+}
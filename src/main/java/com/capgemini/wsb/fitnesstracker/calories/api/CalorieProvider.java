@@ -0,0 +1,16 @@
+package com.capgemini.wsb.fitnesstracker.calories.api;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+
+public interface CalorieProvider {
+
+    /**
+     * Estimates the energy burned by the training, from its activity type, intensity and duration and the age of its user.
+     * The training does not have to be persisted yet.
+     *
+     * @param training the training, with its user
+     * @return the burned energy in kcal, {@code 0} if the training does not end after its start
+     */
+    int computeCalories(Training training);
+
+}
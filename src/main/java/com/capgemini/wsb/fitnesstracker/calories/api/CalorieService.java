@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.calories.api;
+
+/**
+ * Interface (API) for modifying operations on the burned calories of the trainings.
+ */
+public interface CalorieService {
+
+    /**
+     * Recomputes the burned calories of all trainings and rebuilds the lifetime statistics from them. Needed after a change
+     * of the calorie model, or when trainings were written without going through the training service.
+     * The training rollups hold no calories and are not rebuilt.
+     *
+     * @return number of the trainings whose calories changed
+     */
+    long recomputeAllCalories();
+
+}
@@ -0,0 +1,137 @@
+package com.capgemini.wsb.fitnesstracker.calories.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+
+/**
+ * MET based estimation of the energy burned by a training: {@code kcal = MET * body mass * hours * age factor}.
+ * <p>
+ * The MET value is looked up by the activity type and the intensity - the average speed in km/h, or the distance over
+ * the duration when no speed was recorded. The values follow the Compendium of Physical Activities; an activity
+ * without any speed falls back to its general value. The age factor approximates the resting metabolic rate
+ * decreasing with age, relative to the {@link CalorieProperties#getReferenceAge() reference age}.
+ * <p>
+ * The computation takes primitive values only, so that the bulk recomputation runs over plain arrays of columns.
+ */
+final class CalorieModel {
+
+    /**
+     * Birthdate of a training without a user, taken as of the reference age.
+     */
+    static final long UNKNOWN_BIRTHDATE = Long.MIN_VALUE;
+
+    private static final double MILLIS_PER_HOUR = 3_600_000;
+
+    private static final long MILLIS_PER_DAY = 86_400_000;
+
+    private static final double DAYS_PER_YEAR = 365.2425;
+
+    private static final double MIN_AGE_FACTOR = 0.7;
+
+    private static final double MAX_AGE_FACTOR = 1.1;
+
+    private static final ActivityType[] ACTIVITY_TYPES = ActivityType.values();
+
+    private static final MetLevels RUNNING = new MetLevels(7.0,
+            new double[]{0, 8.0, 9.7, 10.8, 11.3, 12.1, 12.9, 13.8, 14.5, 16.1, 17.7, 19.3, 20.9, 22.5},
+            new double[]{6.0, 8.3, 9.8, 10.5, 11.0, 11.5, 11.8, 12.3, 12.8, 14.5, 16.0, 19.0, 19.8, 23.0});
+
+    private static final MetLevels CYCLING = new MetLevels(7.5,
+            new double[]{0, 8.9, 16.1, 19.3, 22.5, 25.7, 32.2},
+            new double[]{3.5, 5.8, 6.8, 8.0, 10.0, 12.0, 15.8});
+
+    private static final MetLevels WALKING = new MetLevels(3.5,
+            new double[]{0, 3.2, 4.0, 4.8, 5.6, 6.4, 7.2, 8.0},
+            new double[]{2.0, 2.8, 3.0, 3.5, 4.3, 5.0, 7.0, 8.3});
+
+    private static final MetLevels SWIMMING = new MetLevels(6.0,
+            new double[]{0, 3.0, 4.0},
+            new double[]{5.8, 8.3, 10.0});
+
+    private static final MetLevels TENNIS = new MetLevels(7.3,
+            new double[]{0},
+            new double[]{7.3});
+
+    private final double bodyMass;
+
+    private final double referenceAge;
+
+    private final double ageAdjustmentPerYear;
+
+    CalorieModel(CalorieProperties properties) {
+        this.bodyMass = properties.getBodyMass();
+        this.referenceAge = properties.getReferenceAge();
+        this.ageAdjustmentPerYear = properties.getAgeAdjustmentPerYear();
+    }
+
+    int calories(Training training) {
+        User user = training.getUser();
+        return calories(training.getActivityType().ordinal(),
+                training.getStartTime().getTime(),
+                training.getEndTime().getTime(),
+                training.getDistance(),
+                training.getAverageSpeed(),
+                user == null ? UNKNOWN_BIRTHDATE : user.getBirthdate().toEpochDay());
+    }
+
+    /**
+     * @param activityType  ordinal of the {@link ActivityType}
+     * @param startTime     start of the training, epoch milliseconds
+     * @param endTime       end of the training, epoch milliseconds
+     * @param distance      distance in km
+     * @param averageSpeed  average speed in km/h, {@code 0} if not recorded
+     * @param birthEpochDay birthdate of the user as the epoch day, or {@link #UNKNOWN_BIRTHDATE}
+     * @return the burned energy in kcal
+     */
+    int calories(int activityType, long startTime, long endTime, double distance, double averageSpeed, long birthEpochDay) {
+        if (endTime <= startTime) {
+            return 0;
+        }
+        double hours = (endTime - startTime) / MILLIS_PER_HOUR;
+        double speed = averageSpeed > 0 ? averageSpeed : distance / hours;
+        return (int) Math.round(met(ACTIVITY_TYPES[activityType], speed) * bodyMass * hours * ageFactor(startTime, birthEpochDay));
+    }
+
+    static double met(ActivityType activityType, double speed) {
+        MetLevels levels = switch (activityType) {
+            case RUNNING -> RUNNING;
+            case CYCLING -> CYCLING;
+            case WALKING -> WALKING;
+            case SWIMMING -> SWIMMING;
+            case TENNIS -> TENNIS;
+        };
+        return levels.met(speed);
+    }
+
+    private double ageFactor(long startTime, long birthEpochDay) {
+        if (birthEpochDay == UNKNOWN_BIRTHDATE) {
+            return 1;
+        }
+        double age = (Math.floorDiv(startTime, MILLIS_PER_DAY) - birthEpochDay) / DAYS_PER_YEAR;
+        return Math.min(MAX_AGE_FACTOR, Math.max(MIN_AGE_FACTOR, 1 - ageAdjustmentPerYear * (age - referenceAge)));
+    }
+
+    /**
+     * MET values of an activity by the intensity.
+     *
+     * @param generalMet MET of the activity of unknown intensity
+     * @param minSpeeds  lowest speed of every level, ascending from {@code 0}
+     * @param mets       MET of every level
+     */
+    private record MetLevels(double generalMet, double[] minSpeeds, double[] mets) {
+
+        double met(double speed) {
+            if (!(speed > 0)) {
+                return generalMet;
+            }
+            int level = 0;
+            while (level + 1 < minSpeeds.length && minSpeeds[level + 1] <= speed) {
+                level++;
+            }
+            return mets[level];
+        }
+
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.capgemini.wsb.fitnesstracker.calories.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the calorie model and of its bulk recomputation.
+ */
+@ConfigurationProperties(prefix = "calories")
+@Getter
+class CalorieProperties {
+
+    /**
+     * Body mass the energy is estimated for, in kg - the users have no weight recorded.
+     */
+    private final double bodyMass;
+
+    /**
+     * Age at which the MET values are taken as they are.
+     */
+    private final double referenceAge;
+
+    /**
+     * Share by which the energy decreases with every year of age over the reference age, and increases below it.
+     */
+    private final double ageAdjustmentPerYear;
+
+    /**
+     * Range of training IDs read, recomputed and updated in a single transaction by the bulk recomputation.
+     */
+    private final int chunkSize;
+
+    /**
+     * Number of the chunks recomputed at once.
+     */
+    private final int threads;
+
+    CalorieProperties(@DefaultValue("70") double bodyMass,
+                      @DefaultValue("30") double referenceAge,
+                      @DefaultValue("0.005") double ageAdjustmentPerYear,
+                      @DefaultValue("100000") int chunkSize,
+                      @DefaultValue("4") int threads) {
+        this.bodyMass = bodyMass;
+        this.referenceAge = referenceAge;
+        this.ageAdjustmentPerYear = ageAdjustmentPerYear;
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+}
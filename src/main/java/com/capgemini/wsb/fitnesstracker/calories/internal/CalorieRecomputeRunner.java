@@ -0,0 +1,26 @@
+package com.capgemini.wsb.fitnesstracker.calories.internal;
+
+import com.capgemini.wsb.fitnesstracker.calories.api.CalorieService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * If the application is run with the {@code recomputeCalories} profile, then on application startup it recomputes
+ * the burned calories of all trainings - to be run once after the calorie model or its configuration changed.
+ */
+@Component
+@Profile("recomputeCalories")
+@RequiredArgsConstructor
+class CalorieRecomputeRunner {
+
+    private final CalorieService calorieService;
+
+    @EventListener
+    public void recomputeCalories(ContextRefreshedEvent event) {
+        calorieService.recomputeAllCalories();
+    }
+
+}
@@ -0,0 +1,194 @@
+package com.capgemini.wsb.fitnesstracker.calories.internal;
+
+import com.capgemini.wsb.fitnesstracker.calories.api.CalorieProvider;
+import com.capgemini.wsb.fitnesstracker.calories.api.CalorieService;
+import com.capgemini.wsb.fitnesstracker.config.threads.BoundedExecutor;
+import com.capgemini.wsb.fitnesstracker.config.threads.BoundedExecutorFactory;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service computing the burned calories of the trainings by the {@link CalorieModel}.
+ * <p>
+ * The bulk recomputation splits the trainings into ranges of IDs, recomputed concurrently on a bounded pool of threads.
+ * Every range is read by a single JDBC query into primitive arrays of columns, recomputed in a tight loop and only the
+ * changed trainings are written back, in a single transaction of JDBC batches - bypassing JPA, as for the initial data.
+ * The trainings of a range are locked from the read to the commit, so that a training changed through the training
+ * service during the recomputation is either recomputed after the change or waited for - its calories computed
+ * on write are never overwritten by a stale value. The users are read by a subquery to leave their rows unlocked.
+ * The lifetime statistics are rebuilt from the trainings once all ranges are done.
+ */
+@Service
+@Slf4j
+class CalorieServiceImpl implements CalorieProvider, CalorieService {
+
+    private static final String SELECT_CHUNK = """
+            SELECT t.id, t.start_time, t.end_time, t.activity_type, t.distance, t.average_speed, t.calories_burned,
+                   (SELECT u.birthdate FROM users u WHERE u.id = t.user_id)
+            FROM trainings t
+            WHERE t.id >= ? AND t.id < ?
+            FOR UPDATE""";
+
+    private static final String UPDATE_CALORIES = "UPDATE trainings SET calories_burned = ? WHERE id = ?";
+
+    private final CalorieModel calorieModel;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final StatisticsService statisticsService;
+
+    private final BoundedExecutorFactory boundedExecutorFactory;
+
+    private final CalorieProperties properties;
+
+    CalorieServiceImpl(JdbcTemplate jdbcTemplate,
+                       PlatformTransactionManager transactionManager,
+                       StatisticsService statisticsService,
+                       BoundedExecutorFactory boundedExecutorFactory,
+                       CalorieProperties properties) {
+        this.calorieModel = new CalorieModel(properties);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statisticsService = statisticsService;
+        this.boundedExecutorFactory = boundedExecutorFactory;
+        this.properties = properties;
+    }
+
+    @Override
+    public int computeCalories(final Training training) {
+        return calorieModel.calories(training);
+    }
+
+    @Override
+    public long recomputeAllCalories() {
+        long started = System.nanoTime();
+        Long firstId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM trainings", Long.class);
+        Long lastId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM trainings", Long.class);
+
+        long changed = 0;
+        if (firstId != null && lastId != null) {
+            try (BoundedExecutor executor = boundedExecutorFactory.create("calories", properties.getThreads())) {
+                List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+                for (long start = firstId; start <= lastId; start += properties.getChunkSize()) {
+                    long from = start;
+                    long to = Math.min(start + properties.getChunkSize(), lastId + 1);
+                    chunks.add(CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> recomputeChunk(from, to)), executor));
+                }
+                changed = chunks.stream().mapToLong(CompletableFuture::join).sum();
+            }
+        }
+        statisticsService.rebuildLifetimeStatistics();
+
+        log.info("Recomputed calories of trainings with IDs {} to {}, changed {}, in {} ms",
+                firstId, lastId, changed, (System.nanoTime() - started) / 1_000_000);
+        return changed;
+    }
+
+    /**
+     * Recomputes the calories of the trainings with IDs within the range.
+     *
+     * @param fromId first ID of the range
+     * @param toId   ID following the range
+     * @return number of the trainings whose calories changed
+     */
+    private int recomputeChunk(long fromId, long toId) {
+        Chunk chunk = new Chunk(Math.toIntExact(toId - fromId));
+        jdbcTemplate.query(SELECT_CHUNK, chunk::read, fromId, toId);
+
+        int[] changed = new int[chunk.size];
+        int changedCount = 0;
+        for (int i = 0; i < chunk.size; i++) {
+            int calories = calorieModel.calories(chunk.activityTypes[i], chunk.startTimes[i], chunk.endTimes[i],
+                    chunk.distances[i], chunk.averageSpeeds[i], chunk.birthEpochDays[i]);
+            if (calories != chunk.calories[i]) {
+                chunk.calories[i] = calories;
+                changed[changedCount++] = i;
+            }
+        }
+
+        if (changedCount > 0) {
+            int count = changedCount;
+            jdbcTemplate.batchUpdate(UPDATE_CALORIES, new BatchPreparedStatementSetter() {
+
+                @Override
+                public void setValues(PreparedStatement statement, int index) throws SQLException {
+                    statement.setInt(1, chunk.calories[changed[index]]);
+                    statement.setLong(2, chunk.ids[changed[index]]);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return count;
+                }
+
+            });
+        }
+        return changedCount;
+    }
+
+    /**
+     * Columns of the trainings of a range of IDs, the range being the upper bound of their number.
+     */
+    private static final class Chunk {
+
+        private final long[] ids;
+
+        private final long[] startTimes;
+
+        private final long[] endTimes;
+
+        private final int[] activityTypes;
+
+        private final double[] distances;
+
+        private final double[] averageSpeeds;
+
+        private final int[] calories;
+
+        private final long[] birthEpochDays;
+
+        private int size;
+
+        private Chunk(int capacity) {
+            ids = new long[capacity];
+            startTimes = new long[capacity];
+            endTimes = new long[capacity];
+            activityTypes = new int[capacity];
+            distances = new double[capacity];
+            averageSpeeds = new double[capacity];
+            calories = new int[capacity];
+            birthEpochDays = new long[capacity];
+        }
+
+        private void read(ResultSet row) throws SQLException {
+            ids[size] = row.getLong(1);
+            startTimes[size] = row.getTimestamp(2).getTime();
+            endTimes[size] = row.getTimestamp(3).getTime();
+            activityTypes[size] = row.getInt(4);
+            distances[size] = row.getDouble(5);
+            averageSpeeds[size] = row.getDouble(6);
+            calories[size] = row.getInt(7);
+            Date birthdate = row.getDate(8);
+            birthEpochDays[size] = birthdate == null ? CalorieModel.UNKNOWN_BIRTHDATE : birthdate.toLocalDate().toEpochDay();
+            size++;
+        }
+
+    }
+
+}
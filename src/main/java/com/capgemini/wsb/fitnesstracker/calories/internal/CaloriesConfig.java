@@ -0,0 +1,10 @@
+package com.capgemini.wsb.fitnesstracker.calories.internal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(CalorieProperties.class)
+class CaloriesConfig {
+
+}
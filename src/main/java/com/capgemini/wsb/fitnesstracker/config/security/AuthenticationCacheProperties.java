@@ -0,0 +1,40 @@
+package com.capgemini.wsb.fitnesstracker.config.security;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the cache of verified credentials, see {@link CachingAuthenticationProvider}.
+ */
+@ConfigurationProperties(prefix = "security.authentication-cache")
+@Getter
+class AuthenticationCacheProperties {
+
+    /**
+     * Whether verified credentials are cached - if disabled, the password hash is checked on every request.
+     */
+    private final boolean enabled;
+
+    /**
+     * Time a verified credential is trusted for. It bounds how long a changed password, or a disabled or locked account,
+     * may still be accepted.
+     */
+    private final Duration ttl;
+
+    /**
+     * Maximum number of the cached credentials, one per user.
+     */
+    private final long maximumSize;
+
+    AuthenticationCacheProperties(@DefaultValue("true") boolean enabled,
+                                  @DefaultValue("PT5M") Duration ttl,
+                                  @DefaultValue("10000") long maximumSize) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maximumSize = maximumSize;
+    }
+
+}
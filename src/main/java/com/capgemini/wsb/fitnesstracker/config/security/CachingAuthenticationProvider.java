@@ -0,0 +1,105 @@
+package com.capgemini.wsb.fitnesstracker.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+
+/**
+ * Authentication provider remembering the credentials verified by the delegate, so that a client repeating the same
+ * HTTP Basic credentials on every request pays for the (deliberately slow) password hash check only once per TTL.
+ * <p>
+ * Only an HMAC of the password is kept, keyed with a random per-process secret - the cached entries are useless for
+ * an offline attack and the plain password never leaves the request. A credential not matching the cached digest
+ * is always verified by the delegate, and a failed verification evicts the user from the cache.
+ */
+class CachingAuthenticationProvider implements AuthenticationProvider {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationProvider delegate;
+
+    private final Cache<String, VerifiedCredentials> cache;
+
+    private final SecretKeySpec key;
+
+    CachingAuthenticationProvider(AuthenticationProvider delegate, Duration ttl, long maximumSize) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        if (!(authentication.getCredentials() instanceof String password)) {
+            return delegate.authenticate(authentication);
+        }
+        String username = authentication.getName();
+        byte[] digest = digest(username, password);
+
+        VerifiedCredentials verified = cache.getIfPresent(username);
+        if (verified != null && MessageDigest.isEqual(verified.digest(), digest)) {
+            return verified.toAuthentication(authentication);
+        }
+
+        Authentication result;
+        try {
+            result = delegate.authenticate(authentication);
+        } catch (AuthenticationException e) {
+            cache.invalidate(username);
+            throw e;
+        }
+        if (result != null && result.isAuthenticated()) {
+            cache.put(username, new VerifiedCredentials(digest, result));
+        }
+        return result;
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return delegate.supports(authentication);
+    }
+
+    private byte[] digest(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC not available", e);
+        }
+    }
+
+    private record VerifiedCredentials(byte[] digest, Authentication authentication) {
+
+        /**
+         * Creates a fresh authentication of the cached principal, without credentials, so that the cached instance
+         * is never shared between security contexts.
+         */
+        Authentication toAuthentication(Authentication request) {
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    authentication.getPrincipal(), null, authentication.getAuthorities());
+            result.setDetails(request.getDetails());
+            return result;
+        }
+
+    }
+
+}
@@ -1,19 +1,25 @@
 package com.capgemini.wsb.fitnesstracker.config.security;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(AuthenticationCacheProperties.class)
 public class UserSecurityConfiguration {
 
     @Bean
@@ -23,7 +29,8 @@ public class UserSecurityConfiguration {
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(requests ->
                         requests
-                                .requestMatchers("/actuator/**").permitAll()
+                                .requestMatchers("/actuator/health/**", "/actuator/info").permitAll()
+                                .requestMatchers("/actuator/caches/**", "/actuator/metrics/**", "/actuator/prometheus").hasRole("ADMIN")
                                 .requestMatchers(HttpMethod.GET, "/**").authenticated()
                                 .anyRequest().hasRole("ADMIN")
                 )
@@ -33,16 +40,37 @@ public class UserSecurityConfiguration {
     }
 
     @Bean
-    public UserDetailsService userDetailsService() {
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+
+    @Bean
+    public UserDetailsService userDetailsService(PasswordEncoder passwordEncoder) {
         var user = User.withUsername("user")
-                .password("{noop}password")
+                .password(passwordEncoder.encode("password"))
                 .roles("USER")
                 .build();
         var admin = User.withUsername("admin")
-                .password("{noop}password")
+                .password(passwordEncoder.encode("password"))
                 .roles("ADMIN")
                 .build();
 
         return new InMemoryUserDetailsManager(user, admin);
     }
+
+    /**
+     * HTTP Basic sends the credentials with every request, so the verified ones are cached - otherwise each request
+     * would pay for the bcrypt hash check.
+     */
+    @Bean
+    public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService,
+                                                         PasswordEncoder passwordEncoder,
+                                                         AuthenticationCacheProperties properties) {
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        if (!properties.isEnabled()) {
+            return provider;
+        }
+        return new CachingAuthenticationProvider(provider, properties.getTtl(), properties.getMaximumSize());
+    }
 }
@@ -0,0 +1,17 @@
+package com.capgemini.wsb.fitnesstracker.config.threads;
+
+import java.util.concurrent.Executor;
+
+/**
+ * {@link Executor} running at most a fixed number of tasks at once, created by the {@link BoundedExecutorFactory}.
+ * Has to be closed once it is no longer used.
+ */
+public interface BoundedExecutor extends Executor, AutoCloseable {
+
+    /**
+     * Stops accepting new tasks and releases the threads once the running tasks finish.
+     */
+    @Override
+    void close();
+
+}
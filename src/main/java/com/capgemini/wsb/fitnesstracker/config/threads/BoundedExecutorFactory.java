@@ -0,0 +1,80 @@
+package com.capgemini.wsb.fitnesstracker.config.threads;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates the executors of the background jobs, following the threading mode of the application.
+ * With {@code spring.threads.virtual.enabled} on Java 21+, every task runs on a new virtual thread and the concurrency
+ * is bounded by a limit - the submitting thread waits while the limit is reached. Otherwise, the tasks run on a fixed pool
+ * of platform threads.
+ */
+@Component
+public class BoundedExecutorFactory {
+
+    private final boolean virtualThreads;
+
+    BoundedExecutorFactory(Environment environment) {
+        this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    }
+
+    /**
+     * Creates an executor running at most the given number of tasks at once.
+     *
+     * @param name        name of the executor, prefixes the names of its threads
+     * @param concurrency maximum number of the tasks running at once
+     * @return the executor, to be closed by the caller
+     */
+    public BoundedExecutor create(String name, int concurrency) {
+        String threadNamePrefix = name + "-";
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrency);
+            return new BoundedExecutor() {
+
+                @Override
+                public void execute(Runnable task) {
+                    executor.execute(task);
+                }
+
+                @Override
+                public void close() {
+                    executor.close();
+                }
+
+            };
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, new CustomizableThreadFactory(threadNamePrefix));
+        return new BoundedExecutor() {
+
+            @Override
+            public void execute(Runnable task) {
+                executor.execute(task);
+            }
+
+            @Override
+            public void close() {
+                executor.shutdown();
+            }
+
+        };
+    }
+
+    /**
+     * Returns whether the executors run the tasks on virtual threads.
+     *
+     * @return {@code true} if the tasks run on virtual threads
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Progress of the {@link JournalApplier} - the offset following the last journal record applied to the database.
+ * Advanced in the transaction creating the trainings, so every record is applied exactly once, even after a crash.
+ */
+@Entity
+@Table(name = "ingest_checkpoints")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class IngestCheckpoint {
+
+    @Id
+    @Column(name = "journal")
+    private String journal;
+
+    @Column(name = "applied_offset", nullable = false)
+    private long appliedOffset;
+
+    IngestCheckpoint(final String journal, final long appliedOffset) {
+        this.journal = journal;
+        this.appliedOffset = appliedOffset;
+    }
+
+    void advance(final long appliedOffset) {
+        this.appliedOffset = appliedOffset;
+    }
+
+}
@@ -0,0 +1,7 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+interface IngestCheckpointRepository extends JpaRepository<IngestCheckpoint, String> {
+
+}
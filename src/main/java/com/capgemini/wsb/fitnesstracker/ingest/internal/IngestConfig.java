@@ -0,0 +1,22 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.io.IOException;
+
+@Configuration
+@Profile("ingestJournal")
+@EnableScheduling
+@EnableConfigurationProperties(IngestProperties.class)
+class IngestConfig {
+
+    @Bean(destroyMethod = "close")
+    IngestJournal ingestJournal(IngestProperties properties) throws IOException {
+        return IngestJournal.open(properties.getDirectory(), Math.toIntExact(properties.getSegmentSize().toBytes()));
+    }
+
+}
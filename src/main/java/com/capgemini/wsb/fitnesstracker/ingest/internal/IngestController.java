@@ -0,0 +1,50 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller accepting training uploads into the {@link IngestJournal}, for the clients uploading at high rates.
+ * The trainings are created in the database shortly after by the {@link JournalApplier}.
+ */
+@RestController
+@Profile("ingestJournal")
+@RequestMapping("/v1/ingest/trainings")
+@RequiredArgsConstructor
+class IngestController {
+
+    private final IngestJournal journal;
+
+    private final UserProvider userProvider;
+
+    /**
+     * Accepts a training to be created. The response is sent once the upload is durable in the journal,
+     * the request thread is released while waiting for the flush.
+     *
+     * @param training the training data.
+     * @return 202 Accepted once the upload is durable.
+     * @throws UserNotFoundException if the user of the training does not exist.
+     * @throws BusinessException     if some of the required training data is missing.
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<Void>> uploadTraining(@RequestBody TrainingRequestDto training) {
+        if (training.userId() == null || training.startTime() == null || training.endTime() == null || training.activityType() == null) {
+            throw new BusinessException("Training requires userId, startTime, endTime and activityType");
+        }
+        userProvider.getUser(training.userId()).orElseThrow(() -> new UserNotFoundException(training.userId()));
+        return journal.append(TrainingUploadCodec.encode(training))
+                .thenApply(offset -> ResponseEntity.accepted().build());
+    }
+
+}
@@ -0,0 +1,379 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only journal of binary records, stored in memory-mapped segment files of a fixed size.
+ * <p>
+ * Every record is written as its length, the CRC32C checksum of its payload and the payload itself; a zero length
+ * marks the end of the written part of a segment. Records are addressed by their global offset - the segment files
+ * are named by the offset of their first record, so an offset stays valid when the older segments are released.
+ * <p>
+ * Appends only copy the record into the mapped memory; a single flusher thread forces the written pages to the disk
+ * and acknowledges all the appends covered by the flush at once, so concurrent uploads share the cost of a sync.
+ * Readers see the records up to the last flush only - nothing is applied before it is durable. A failed flush is retried
+ * and new appends are rejected until it succeeds: the records are in the segment already and would become readable with
+ * any later flush, so they are never reported as failed.
+ * On open, the last segment is scanned and a record torn by a crash, failing its checksum, is cut off.
+ */
+@Slf4j
+final class IngestJournal implements AutoCloseable {
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final long FLUSH_RETRY_MILLIS = 1000;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private final Object lock = new Object();
+
+    // guarded by the lock
+    private final List<PendingAppend> pending = new ArrayList<>();
+
+    // guarded by the lock
+    private Segment active;
+
+    // guarded by the lock
+    private long writeOffset;
+
+    // guarded by the lock
+    private boolean closed;
+
+    // guarded by the lock
+    private boolean flushFailing;
+
+    private volatile long durableOffset;
+
+    private final Thread flusher;
+
+    private IngestJournal(final Path directory, final int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flusher = new Thread(this::flushLoop, "ingest-journal-flusher");
+        this.flusher.setDaemon(true);
+    }
+
+    /**
+     * Opens the journal in the given directory, recovering the segments written before.
+     *
+     * @param directory   directory of the segment files, created if missing
+     * @param segmentSize size of the newly created segment files, limiting the size of a single record
+     */
+    static IngestJournal open(final Path directory, final int segmentSize) throws IOException {
+        if (segmentSize <= HEADER_SIZE) {
+            throw new IllegalArgumentException("Segment size must be greater than " + HEADER_SIZE + " bytes");
+        }
+        Files.createDirectories(directory);
+        IngestJournal journal = new IngestJournal(directory, segmentSize);
+        journal.recover();
+        journal.flusher.start();
+        return journal;
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> file.getFileName().toString().endsWith(SEGMENT_SUFFIX)).sorted().toList();
+        }
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            long baseOffset = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+            segments.put(baseOffset, Segment.map(file, baseOffset, Math.toIntExact(Files.size(file))));
+        }
+
+        if (segments.isEmpty()) {
+            active = createSegment(0);
+        } else {
+            active = segments.lastEntry().getValue();
+            int end = active.validEnd();
+            active.clear(end);
+            active.buffer().force();
+            writeOffset = active.baseOffset() + end;
+        }
+        durableOffset = writeOffset;
+        log.info("Opened ingest journal in {} with {} segments, ending at offset {}", directory, segments.size(), writeOffset);
+    }
+
+    /**
+     * Appends the record to the journal.
+     *
+     * @param payload the content of the record
+     * @return future completed with the offset following the record, once the record is durable
+     */
+    CompletableFuture<Long> append(final byte[] payload) {
+        int recordSize = HEADER_SIZE + payload.length;
+        if (payload.length == 0 || recordSize > segmentSize) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit the journal");
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(payload);
+
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Ingest journal is closed");
+            }
+            if (flushFailing) {
+                throw new IllegalStateException("Ingest journal cannot be flushed, not accepting records until it recovers");
+            }
+            int position = (int) (writeOffset - active.baseOffset());
+            if (position + recordSize > active.capacity()) {
+                roll();
+                position = 0;
+            }
+            MappedByteBuffer buffer = active.buffer();
+            buffer.put(position + HEADER_SIZE, payload);
+            buffer.putInt(position + Integer.BYTES, (int) checksum.getValue());
+            buffer.putInt(position, payload.length);
+            writeOffset += recordSize;
+
+            CompletableFuture<Long> acknowledged = new CompletableFuture<>();
+            pending.add(new PendingAppend(writeOffset, acknowledged));
+            lock.notifyAll();
+            return acknowledged;
+        }
+    }
+
+    /**
+     * Reads the durable records following the given offset.
+     *
+     * @param fromOffset offset to read from - the offset following the last record already processed
+     * @param maxRecords maximum number of the records read
+     * @return the records, empty when there are no durable records after the offset
+     */
+    List<JournalEntry> read(final long fromOffset, final int maxRecords) {
+        long durable = durableOffset;
+        List<JournalEntry> entries = new ArrayList<>();
+        long offset = Math.max(fromOffset, segments.firstKey());
+        while (offset < durable && entries.size() < maxRecords) {
+            Segment segment = segments.floorEntry(offset).getValue();
+            int position = (int) (offset - segment.baseOffset());
+            int length = position + HEADER_SIZE <= segment.capacity() ? segment.buffer().getInt(position) : 0;
+            if (length == 0) {
+                Long next = segments.higherKey(segment.baseOffset());
+                if (next == null) {
+                    break;
+                }
+                offset = next;
+                continue;
+            }
+            byte[] payload = new byte[length];
+            segment.buffer().get(position + HEADER_SIZE, payload);
+            offset += HEADER_SIZE + length;
+            entries.add(new JournalEntry(payload, offset));
+        }
+        return entries;
+    }
+
+    /**
+     * Deletes the segments holding only records before the given offset.
+     *
+     * @param appliedOffset offset following the last record that is no longer needed
+     */
+    void release(final long appliedOffset) {
+        Long current = segments.floorKey(appliedOffset);
+        if (current == null) {
+            return;
+        }
+        for (Segment segment : segments.headMap(current).values()) {
+            segments.remove(segment.baseOffset());
+            try {
+                Files.deleteIfExists(segment.file());
+                log.debug("Released ingest journal segment {}", segment.file());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return offset of the first record still kept by the journal
+     */
+    long getFirstOffset() {
+        return segments.firstKey();
+    }
+
+    /**
+     * @return offset following the last durable record
+     */
+    long getDurableOffset() {
+        return durableOffset;
+    }
+
+    /**
+     * Stops accepting appends, waiting for the pending ones to become durable. If the flush keeps failing, the pending appends
+     * are left unacknowledged - their records are recovered on the next open if they reach the disk after all.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        flusher.join();
+    }
+
+    private void roll() {
+        active.buffer().force();
+        active = createSegment(writeOffset);
+    }
+
+    private Segment createSegment(final long baseOffset) {
+        Path file = directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+        try {
+            Segment segment = Segment.map(file, baseOffset, segmentSize);
+            segments.put(baseOffset, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            List<PendingAppend> batch;
+            MappedByteBuffer buffer;
+            long offset;
+            synchronized (lock) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+                buffer = active.buffer();
+                offset = writeOffset;
+            }
+
+            if (!force(buffer, batch.size())) {
+                return;
+            }
+            durableOffset = offset;
+            batch.forEach(append -> append.acknowledged().complete(append.offset()));
+        }
+    }
+
+    /**
+     * Forces the written pages to the disk, retrying until it succeeds. Appends are rejected while the flush is failing.
+     *
+     * @return {@code false} if the journal was closed before the flush succeeded
+     */
+    private boolean force(final MappedByteBuffer buffer, final int records) {
+        while (true) {
+            try {
+                buffer.force();
+                synchronized (lock) {
+                    flushFailing = false;
+                }
+                return true;
+            } catch (RuntimeException e) {
+                log.error("Failed to flush {} records of the ingest journal, retrying", records, e);
+            }
+            synchronized (lock) {
+                flushFailing = true;
+                if (closed) {
+                    return false;
+                }
+                try {
+                    lock.wait(FLUSH_RETRY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+
+    /**
+     * A record read from the journal.
+     *
+     * @param payload    the content of the record
+     * @param nextOffset offset following the record, to continue the reading from
+     */
+    record JournalEntry(byte[] payload, long nextOffset) {
+    }
+
+    private record PendingAppend(long offset, CompletableFuture<Long> acknowledged) {
+    }
+
+    private record Segment(long baseOffset, Path file, MappedByteBuffer buffer) {
+
+        /**
+         * Maps the segment file, growing it to the size - the mapping stays valid when the channel is closed.
+         */
+        static Segment map(final Path file, final long baseOffset, final int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE)) {
+                return new Segment(baseOffset, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            }
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        /**
+         * @return position following the last complete record with a matching checksum
+         */
+        int validEnd() {
+            int position = 0;
+            CRC32C checksum = new CRC32C();
+            while (position + HEADER_SIZE <= capacity()) {
+                int length = buffer.getInt(position);
+                if (length <= 0 || length > capacity() - position - HEADER_SIZE) {
+                    break;
+                }
+                checksum.reset();
+                checksum.update(buffer.slice(position + HEADER_SIZE, length));
+                if ((int) checksum.getValue() != buffer.getInt(position + Integer.BYTES)) {
+                    break;
+                }
+                position += HEADER_SIZE + length;
+            }
+            return position;
+        }
+
+        /**
+         * Zeroes the segment from the position on, so a torn record is not taken for the end of the segment.
+         */
+        void clear(final int from) {
+            for (int position = from; position < capacity(); position++) {
+                if (buffer.get(position) != 0) {
+                    buffer.put(position, (byte) 0);
+                }
+            }
+        }
+
+    }
+
+}
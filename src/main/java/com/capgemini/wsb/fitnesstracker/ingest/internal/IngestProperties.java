@@ -0,0 +1,47 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration of the training ingest journal.
+ */
+@ConfigurationProperties(prefix = "ingest")
+@Getter
+class IngestProperties {
+
+    /**
+     * Name of the journal, identifying its checkpoint in the database - unique per node sharing the database.
+     */
+    private final String name;
+
+    /**
+     * Directory of the journal segment files, local to the node.
+     */
+    private final Path directory;
+
+    /**
+     * Size of a single memory-mapped segment file.
+     */
+    private final DataSize segmentSize;
+
+    /**
+     * Maximum number of uploads applied to the database in a single transaction.
+     */
+    private final int applyBatchSize;
+
+    IngestProperties(@DefaultValue("trainings") String name,
+                     @DefaultValue("./data/ingest") Path directory,
+                     @DefaultValue("64MB") DataSize segmentSize,
+                     @DefaultValue("1000") int applyBatchSize) {
+        this.name = name;
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.applyBatchSize = applyBatchSize;
+    }
+
+}
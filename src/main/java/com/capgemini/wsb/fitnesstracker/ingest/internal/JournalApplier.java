@@ -0,0 +1,111 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Background job applying the durable records of the {@link IngestJournal} to the database.
+ * Records are applied in batches, every batch creating its trainings and advancing the {@link IngestCheckpoint}
+ * in a single transaction. A batch rejected by the validation is applied record by record, skipping the rejected
+ * records; any other failure stops the applying until the next run, which resumes from the checkpoint.
+ * The runs are not overlapping, also with the ones invoked outside of the polling, so every record is taken by a single run.
+ */
+@Component
+@Profile("ingestJournal")
+@Slf4j
+class JournalApplier {
+
+    private final IngestJournal journal;
+
+    private final IngestCheckpointRepository checkpointRepository;
+
+    private final TrainingService trainingService;
+
+    private final IngestProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    JournalApplier(IngestJournal journal,
+                   IngestCheckpointRepository checkpointRepository,
+                   TrainingService trainingService,
+                   IngestProperties properties,
+                   PlatformTransactionManager transactionManager) {
+        this.journal = journal;
+        this.checkpointRepository = checkpointRepository;
+        this.trainingService = trainingService;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Applies the durable records, batch after batch, until the journal has no more of them.
+     * Waits for a run in progress first, so on return the checkpoint has reached the journal end as of the call.
+     */
+    @Scheduled(fixedDelayString = "${ingest.apply-interval:PT0.2S}")
+    public synchronized void apply() {
+        int applied;
+        do {
+            applied = applyBatch();
+        } while (applied == properties.getApplyBatchSize());
+    }
+
+    private int applyBatch() {
+        IngestCheckpoint checkpoint = checkpointRepository.findById(properties.getName())
+                .orElseGet(() -> new IngestCheckpoint(properties.getName(), journal.getFirstOffset()));
+        if (checkpoint.getAppliedOffset() > journal.getDurableOffset()) {
+            log.warn("Ingest journal {} ends at offset {} before its checkpoint {}, the journal was replaced - applying it from the start",
+                    properties.getName(), journal.getDurableOffset(), checkpoint.getAppliedOffset());
+            checkpoint.advance(journal.getFirstOffset());
+        }
+
+        List<IngestJournal.JournalEntry> entries = journal.read(checkpoint.getAppliedOffset(), properties.getApplyBatchSize());
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        List<TrainingRequestDto> uploads = entries.stream().map(entry -> TrainingUploadCodec.decode(entry.payload())).toList();
+        long nextOffset = entries.get(entries.size() - 1).nextOffset();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                trainingService.createTrainings(uploads);
+                advance(checkpoint, nextOffset);
+            });
+        } catch (BusinessException e) {
+            log.warn("Applying a batch of {} uploads failed, applying them one by one: {}", uploads.size(), e.getMessage());
+            applyOneByOne(checkpoint, entries, uploads);
+        }
+        journal.release(nextOffset);
+        return entries.size();
+    }
+
+    private void applyOneByOne(IngestCheckpoint checkpoint, List<IngestJournal.JournalEntry> entries, List<TrainingRequestDto> uploads) {
+        for (int i = 0; i < entries.size(); i++) {
+            TrainingRequestDto upload = uploads.get(i);
+            long nextOffset = entries.get(i).nextOffset();
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    trainingService.createTraining(upload);
+                    advance(checkpoint, nextOffset);
+                });
+            } catch (BusinessException e) {
+                log.warn("Rejected uploaded training of User with ID {}: {}", upload.userId(), e.getMessage());
+                transactionTemplate.executeWithoutResult(status -> advance(checkpoint, nextOffset));
+            }
+        }
+    }
+
+    private void advance(IngestCheckpoint checkpoint, long appliedOffset) {
+        checkpoint.advance(appliedOffset);
+        checkpointRepository.save(checkpoint);
+    }
+
+}
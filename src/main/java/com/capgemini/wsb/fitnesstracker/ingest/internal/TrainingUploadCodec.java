@@ -0,0 +1,53 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.nio.ByteBuffer;
+import java.util.Date;
+
+/**
+ * Fixed-size binary encoding of the uploaded trainings, as stored in the {@link IngestJournal}.
+ * A missing distance or average speed is stored as NaN. The leading version byte keeps the records written
+ * before a change of the format readable.
+ */
+final class TrainingUploadCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final int SIZE = 1 + 3 * Long.BYTES + 1 + 2 * Double.BYTES;
+
+    private TrainingUploadCodec() {
+    }
+
+    static byte[] encode(TrainingRequestDto training) {
+        return ByteBuffer.allocate(SIZE)
+                .put(VERSION)
+                .putLong(training.userId())
+                .putLong(training.startTime().getTime())
+                .putLong(training.endTime().getTime())
+                .put((byte) training.activityType().ordinal())
+                .putDouble(training.distance() == null ? Double.NaN : training.distance())
+                .putDouble(training.averageSpeed() == null ? Double.NaN : training.averageSpeed())
+                .array();
+    }
+
+    static TrainingRequestDto decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalStateException("Unsupported training upload version " + version);
+        }
+        return new TrainingRequestDto(buffer.getLong(),
+                new Date(buffer.getLong()),
+                new Date(buffer.getLong()),
+                ActivityType.values()[buffer.get()],
+                orNull(buffer.getDouble()),
+                orNull(buffer.getDouble()));
+    }
+
+    private static Double orNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+}
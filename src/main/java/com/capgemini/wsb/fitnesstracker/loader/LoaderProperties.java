@@ -0,0 +1,67 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.LocalDate;
+
+/**
+ * Configuration of the {@link SyntheticDataGenerator}.
+ */
+@ConfigurationProperties(prefix = "loader")
+@Getter
+class LoaderProperties {
+
+    /**
+     * Number of the generated users.
+     */
+    private final int users;
+
+    /**
+     * Number of the trainings generated for every user.
+     */
+    private final int trainingsPerUser;
+
+    /**
+     * Seed of the random generator - the same seed and sizes always generate the same data.
+     */
+    private final long seed;
+
+    /**
+     * Number of the threads inserting the data.
+     */
+    private final int threads;
+
+    /**
+     * Number of the users generated and inserted, together with their trainings, in a single transaction.
+     */
+    private final int chunkSize;
+
+    /**
+     * Last day of the period the trainings are spread over.
+     */
+    private final LocalDate periodEnd;
+
+    /**
+     * Length of the period the trainings are spread over, in days.
+     */
+    private final int periodDays;
+
+    LoaderProperties(@DefaultValue("10") int users,
+                     @DefaultValue("1") int trainingsPerUser,
+                     @DefaultValue("42") long seed,
+                     @DefaultValue("4") int threads,
+                     @DefaultValue("5000") int chunkSize,
+                     @DefaultValue("2024-06-30") LocalDate periodEnd,
+                     @DefaultValue("365") int periodDays) {
+        this.users = users;
+        this.trainingsPerUser = trainingsPerUser;
+        this.seed = seed;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+        this.periodEnd = periodEnd;
+        this.periodDays = periodDays;
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.calories.api.CalorieService;
+import com.capgemini.wsb.fitnesstracker.config.threads.BoundedExecutor;
+import com.capgemini.wsb.fitnesstracker.config.threads.BoundedExecutorFactory;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Synthetic data generator. If the application is run with the {@code loadInitialData} profile, then on application startup
+ * it fills the empty database with the configured number of users and trainings per user, for manual and load testing.
+ * <p>
+ * The users are generated in chunks, every chunk from its own random generator seeded by the configured seed and the index
+ * of the chunk - the data does not depend on the number of threads or the order in which the chunks are inserted.
+ * Chunks are inserted in parallel, each in a single transaction of JDBC batches, bypassing JPA. The IDs are assigned
+ * by the generator and the sequences are moved past them afterwards. Finally, the calories of the trainings are computed,
+ * which rebuilds the lifetime statistics, and the training rollups are rebuilt - no training events were published.
+ */
+@Component
+@Profile("loadInitialData")
+@Slf4j
+class SyntheticDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final int SEQUENCE_ALLOCATION_SIZE = 50;
+
+    private static final List<String> FIRST_NAMES = List.of("Emma", "Ethan", "Olivia", "Daniel", "Sophia", "Liam", "Ava",
+            "Noah", "Grace", "Oliver", "Mia", "Lucas", "Zoe", "Jacob", "Lily", "Adam", "Julia", "Jan", "Anna", "Piotr");
+
+    private static final List<String> LAST_NAMES = List.of("Johnson", "Taylor", "Davis", "Thomas", "Baker", "Jones",
+            "Williams", "Miller", "Anderson", "Swift", "Nowak", "Kowalski", "Wisniewski", "Smith", "Brown", "Wilson");
+
+    /**
+     * Share of the activity types in the generated trainings, with their typical speeds in km/h.
+     */
+    private static final List<ActivityProfile> ACTIVITIES = List.of(
+            new ActivityProfile(ActivityType.RUNNING, 35, 7.5, 14.0),
+            new ActivityProfile(ActivityType.CYCLING, 25, 14.0, 30.0),
+            new ActivityProfile(ActivityType.WALKING, 25, 4.0, 6.5),
+            new ActivityProfile(ActivityType.SWIMMING, 10, 1.5, 4.0),
+            new ActivityProfile(ActivityType.TENNIS, 5, 0.0, 0.0));
+
+    private static final int TOTAL_WEIGHT = ACTIVITIES.stream().mapToInt(ActivityProfile::weight).sum();
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, first_name, last_name, birthdate, email) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TRAINING =
+            "INSERT INTO trainings (id, user_id, start_time, end_time, activity_type, distance, average_speed) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final CalorieService calorieService;
+
+    private final StatisticsService statisticsService;
+
+    private final LoaderProperties properties;
+
+    private final BoundedExecutorFactory boundedExecutorFactory;
+
+    SyntheticDataGenerator(JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           CalorieService calorieService,
+                           StatisticsService statisticsService,
+                           LoaderProperties properties,
+                           BoundedExecutorFactory boundedExecutorFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.calorieService = calorieService;
+        this.statisticsService = statisticsService;
+        this.properties = properties;
+        this.boundedExecutorFactory = boundedExecutorFactory;
+    }
+
+    @EventListener
+    public void loadInitialData(ContextRefreshedEvent event) {
+        Long existingUsers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existingUsers != null && existingUsers > 0) {
+            log.info("Database already contains {} users, skipping the generation of the initial data", existingUsers);
+            return;
+        }
+
+        long started = System.nanoTime();
+        int users = properties.getUsers();
+        log.info("Generating {} users with {} trainings each, seed {}", users, properties.getTrainingsPerUser(), properties.getSeed());
+
+        try (BoundedExecutor executor = boundedExecutorFactory.create("loader", properties.getThreads())) {
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            for (int firstUser = 1, chunk = 0; firstUser <= users; firstUser += properties.getChunkSize(), chunk++) {
+                int from = firstUser;
+                int to = Math.min(firstUser + properties.getChunkSize() - 1, users);
+                long chunkSeed = properties.getSeed() * 31 + chunk;
+                chunks.add(CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                        status -> insertChunk(from, to, new SplittableRandom(chunkSeed))), executor));
+            }
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        }
+
+        long trainings = (long) users * properties.getTrainingsPerUser();
+        restartSequence("users_seq", users);
+        restartSequence("trainings_seq", trainings);
+        calorieService.recomputeAllCalories();
+        statisticsService.rebuildRollups();
+
+        log.info("Generated {} users and {} trainings in {} s", users, trainings, (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void insertChunk(int fromUser, int toUser, SplittableRandom random) {
+        List<Object[]> users = new ArrayList<>(BATCH_SIZE);
+        List<Object[]> trainings = new ArrayList<>(BATCH_SIZE);
+        for (int userId = fromUser; userId <= toUser; userId++) {
+            users.add(user(userId, random));
+            for (int index = 0; index < properties.getTrainingsPerUser(); index++) {
+                long trainingId = (long) (userId - 1) * properties.getTrainingsPerUser() + index + 1;
+                trainings.add(training(trainingId, userId, random));
+            }
+            if (users.size() >= BATCH_SIZE || trainings.size() >= BATCH_SIZE) {
+                flush(users, trainings);
+            }
+        }
+        flush(users, trainings);
+    }
+
+    private void flush(List<Object[]> users, List<Object[]> trainings) {
+        // Users first, the trainings reference them.
+        flush(INSERT_USER, users);
+        flush(INSERT_TRAINING, trainings);
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+            rows.clear();
+        }
+    }
+
+    private Object[] user(int id, SplittableRandom random) {
+        String firstName = FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size()));
+        String lastName = LAST_NAMES.get(random.nextInt(LAST_NAMES.size()));
+        LocalDate birthdate = properties.getPeriodEnd().minusYears(16).minusDays(random.nextInt(64 * 365));
+        String email = "%s.%s.%d@domain.com".formatted(firstName, lastName, id).toLowerCase(Locale.ROOT);
+        return new Object[]{id, firstName, lastName, Date.valueOf(birthdate), email};
+    }
+
+    private Object[] training(long id, int userId, SplittableRandom random) {
+        ActivityProfile activity = activity(random);
+        LocalDateTime start = properties.getPeriodEnd()
+                .minusDays(random.nextInt(properties.getPeriodDays()))
+                .atTime(6, 0)
+                .plusMinutes(random.nextInt(15 * 60));
+        int durationMinutes = 20 + random.nextInt(100);
+        double speed = activity.maxSpeed() == 0 ? 0 : round(random.nextDouble(activity.minSpeed(), activity.maxSpeed()));
+        double distance = round(speed * durationMinutes / 60);
+        return new Object[]{id, userId, Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(durationMinutes)),
+                activity.type().ordinal(), distance, speed};
+    }
+
+    private void restartSequence(String sequence, long lastId) {
+        // Hibernate pooled optimizer treats the sequence value as the upper bound of the next allocated block of IDs.
+        jdbcTemplate.execute("ALTER SEQUENCE %s RESTART WITH %d".formatted(sequence, lastId + SEQUENCE_ALLOCATION_SIZE + 1));
+    }
+
+    private static ActivityProfile activity(SplittableRandom random) {
+        int drawn = random.nextInt(TOTAL_WEIGHT);
+        for (ActivityProfile activity : ACTIVITIES) {
+            drawn -= activity.weight();
+            if (drawn < 0) {
+                return activity;
+            }
+        }
+        throw new IllegalStateException("Activity weights do not add up to " + TOTAL_WEIGHT);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private record ActivityProfile(ActivityType type, int weight, double minSpeed, double maxSpeed) {
+
+    }
+
+}
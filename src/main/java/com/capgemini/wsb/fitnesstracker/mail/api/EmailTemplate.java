@@ -0,0 +1,149 @@
+package com.capgemini.wsb.fitnesstracker.mail.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Email template compiled once into a sequence of literal parts and typed {@link TemplateVariable}s, so that rendering
+ * only appends the literals and substitutes the variables - nothing is parsed or looked up by name per email.
+ * The text is rendered into a buffer reused by the thread, a template may be rendered by many threads concurrently.
+ * <p>
+ * The template source starts with a {@code Subject:} line, followed by an empty line and the content.
+ * Variables are written as {@code {{name}}}; every variable has to be bound when the template is compiled.
+ *
+ * @param <M> type of the model the template is rendered from
+ */
+public final class EmailTemplate<M> {
+
+    private static final String TEMPLATES_LOCATION = "mail/templates/";
+
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private static final int BUFFER_CAPACITY = 1024;
+
+    private static final int MAX_RETAINED_BUFFER_CAPACITY = 64 * 1024;
+
+    private final String name;
+
+    private final List<TemplateVariable<M>> subject;
+
+    private final List<TemplateVariable<M>> content;
+
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_CAPACITY));
+
+    private EmailTemplate(String name, List<TemplateVariable<M>> subject, List<TemplateVariable<M>> content) {
+        this.name = name;
+        this.subject = subject;
+        this.content = content;
+    }
+
+    /**
+     * Loads the template {@code mail/templates/<name>.txt} from the classpath and compiles it.
+     *
+     * @param name      name of the template
+     * @param variables variables of the template by their names
+     * @param <M>       type of the model the template is rendered from
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template does not exist, is malformed or uses a variable not bound
+     */
+    public static <M> EmailTemplate<M> load(String name, Map<String, TemplateVariable<M>> variables) {
+        String location = TEMPLATES_LOCATION + name + ".txt";
+        try (InputStream source = EmailTemplate.class.getClassLoader().getResourceAsStream(location)) {
+            if (source == null) {
+                throw new IllegalArgumentException("Email template %s not found".formatted(location));
+            }
+            return compile(name, new String(source.readAllBytes(), StandardCharsets.UTF_8), variables);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read email template %s".formatted(location), e);
+        }
+    }
+
+    /**
+     * Compiles the template from its source.
+     *
+     * @param name      name of the template, used in the error messages
+     * @param source    source of the template
+     * @param variables variables of the template by their names
+     * @param <M>       type of the model the template is rendered from
+     * @return the compiled template
+     * @throws IllegalArgumentException if the template is malformed or uses a variable not bound
+     */
+    public static <M> EmailTemplate<M> compile(String name, String source, Map<String, TemplateVariable<M>> variables) {
+        String normalized = source.replace("\r\n", "\n");
+        int subjectEnd = normalized.indexOf("\n\n");
+        if (!normalized.startsWith(SUBJECT_PREFIX) || subjectEnd < 0) {
+            throw new IllegalArgumentException("Email template %s has to start with a subject line followed by an empty line".formatted(name));
+        }
+        String subject = normalized.substring(SUBJECT_PREFIX.length(), subjectEnd).strip();
+        String content = normalized.substring(subjectEnd + 2);
+        return new EmailTemplate<>(name, parse(name, subject, variables), parse(name, content, variables));
+    }
+
+    /**
+     * Renders the email for the given recipient.
+     *
+     * @param toAddress email address of the recipient
+     * @param model     model to render the template from
+     * @return the rendered email
+     */
+    public EmailDto render(String toAddress, M model) {
+        StringBuilder buffer = buffers.get();
+        String renderedSubject = render(subject, model, buffer);
+        String renderedContent = render(content, model, buffer);
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_CAPACITY) {
+            // Do not keep a buffer grown by an exceptionally large email for the lifetime of the thread.
+            buffers.remove();
+        }
+        return new EmailDto(toAddress, renderedSubject, renderedContent);
+    }
+
+    @Override
+    public String toString() {
+        return "EmailTemplate[" + name + "]";
+    }
+
+    private static <M> String render(List<TemplateVariable<M>> parts, M model, StringBuilder buffer) {
+        buffer.setLength(0);
+        for (TemplateVariable<M> part : parts) {
+            part.write(model, buffer);
+        }
+        return buffer.toString();
+    }
+
+    private static <M> List<TemplateVariable<M>> parse(String name, String text, Map<String, TemplateVariable<M>> variables) {
+        List<TemplateVariable<M>> parts = new ArrayList<>();
+        int position = 0;
+        while (position < text.length()) {
+            int start = text.indexOf("{{", position);
+            if (start < 0) {
+                parts.add(literal(text.substring(position)));
+                break;
+            }
+            int end = text.indexOf("}}", start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed variable in email template %s at %s".formatted(name, start));
+            }
+            if (start > position) {
+                parts.add(literal(text.substring(position, start)));
+            }
+            String variableName = text.substring(start + 2, end).strip();
+            TemplateVariable<M> variable = variables.get(variableName);
+            if (variable == null) {
+                throw new IllegalArgumentException("Unknown variable {{%s}} in email template %s".formatted(variableName, name));
+            }
+            parts.add(variable);
+            position = end + 2;
+        }
+        return List.copyOf(parts);
+    }
+
+    private static <M> TemplateVariable<M> literal(String text) {
+        return (model, out) -> out.append(text);
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.capgemini.wsb.fitnesstracker.mail.api;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Variable of an {@link EmailTemplate}, writing its value taken from the model directly into the rendered text.
+ *
+ * @param <M> type of the model the template is rendered from
+ */
+@FunctionalInterface
+public interface TemplateVariable<M> {
+
+    /**
+     * Appends the value of the variable to the rendered text.
+     *
+     * @param model model the template is rendered from
+     * @param out   buffer of the rendered text
+     */
+    void write(M model, StringBuilder out);
+
+    /**
+     * Variable rendered as the {@link String#valueOf(Object) string value} of the given attribute of the model.
+     *
+     * @param value attribute of the model
+     * @param <M>   type of the model
+     * @return the variable
+     */
+    static <M> TemplateVariable<M> text(Function<M, ?> value) {
+        return (model, out) -> out.append(value.apply(model));
+    }
+
+    /**
+     * Variable rendered as an integer, left padded with zeros to the given number of digits.
+     *
+     * @param value     attribute of the model
+     * @param minDigits minimum number of the digits
+     * @param <M>       type of the model
+     * @return the variable
+     */
+    static <M> TemplateVariable<M> number(ToLongFunction<M> value, int minDigits) {
+        return (model, out) -> appendPadded(out, value.applyAsLong(model), minDigits);
+    }
+
+    /**
+     * Variable rendered as an integer.
+     *
+     * @param value attribute of the model
+     * @param <M>   type of the model
+     * @return the variable
+     */
+    static <M> TemplateVariable<M> number(ToLongFunction<M> value) {
+        return (model, out) -> out.append(value.applyAsLong(model));
+    }
+
+    /**
+     * Variable rendered as a decimal number rounded half up to the given number of fraction digits, with {@code .}
+     * as the separator regardless of the locale.
+     *
+     * @param value          attribute of the model
+     * @param fractionDigits number of the fraction digits, between {@code 1} and {@code 9}
+     * @param <M>            type of the model
+     * @return the variable
+     */
+    static <M> TemplateVariable<M> decimal(ToDoubleFunction<M> value, int fractionDigits) {
+        if (fractionDigits < 1 || fractionDigits > 9) {
+            throw new IllegalArgumentException("Fraction digits must be between 1 and 9, was %s".formatted(fractionDigits));
+        }
+        long scale = (long) Math.pow(10, fractionDigits);
+        return (model, out) -> {
+            double number = value.applyAsDouble(model);
+            long scaled = Math.round(Math.abs(number) * scale);
+            if (number < 0 && scaled != 0) {
+                out.append('-');
+            }
+            out.append(scaled / scale).append('.');
+            appendPadded(out, scaled % scale, fractionDigits);
+        };
+    }
+
+    private static void appendPadded(StringBuilder out, long number, int minDigits) {
+        if (number < 0) {
+            out.append('-');
+            number = -number;
+        }
+        for (long bound = 10, digits = 1; digits < minDigits; bound *= 10, digits++) {
+            if (number < bound) {
+                out.append('0');
+            }
+        }
+        out.append(number);
+    }
+
+}
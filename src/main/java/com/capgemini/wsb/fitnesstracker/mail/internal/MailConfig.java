@@ -2,9 +2,11 @@ package com.capgemini.wsb.fitnesstracker.mail.internal;
 
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
-@EnableConfigurationProperties(MailProperties.class)
+@EnableScheduling
+@EnableConfigurationProperties({MailProperties.class, OutboxProperties.class})
 class MailConfig {
 
 }
@@ -0,0 +1,165 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.config.threads.BoundedExecutor;
+import com.capgemini.wsb.fitnesstracker.config.threads.BoundedExecutorFactory;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Background dispatcher draining the email outbox.
+ * Due emails are taken in batches, split into {@link OutboxProperties#getConcurrency()} slices and every slice is sent
+ * over a single SMTP connection - a burst of emails opens a handful of connections per batch instead of one per email.
+ * Sent emails are removed from the outbox, failed ones are retried with an exponential backoff.
+ * Every batch is claimed in a short transaction before being sent - its rows are selected skipping the ones locked
+ * by a concurrent dispatch and leased for {@link OutboxProperties#getLease()}, so that overlapping dispatches,
+ * of this node or of others sharing the outbox, never take the same email.
+ * Disabled by {@code mail.outbox.enabled=false}, the emails are then only queued.
+ */
+@Component
+@ConditionalOnProperty(prefix = "mail.outbox", name = "enabled", matchIfMissing = true)
+@Slf4j
+class OutboxDispatcher implements DisposableBean {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final MailProperties mailProperties;
+
+    private final OutboxProperties outboxProperties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BoundedExecutor executor;
+
+    /**
+     * The mail sender is resolved on the first dispatched email - the dispatcher is created on startup, being scheduled,
+     * even with the lazy initialization of the fast-startup profile.
+     */
+    OutboxDispatcher(OutboxEmailRepository outboxEmailRepository,
+                     @Lazy JavaMailSender javaMailSender,
+                     MailProperties mailProperties,
+                     OutboxProperties outboxProperties,
+                     PlatformTransactionManager transactionManager,
+                     BoundedExecutorFactory boundedExecutorFactory) {
+        this.outboxEmailRepository = outboxEmailRepository;
+        this.javaMailSender = javaMailSender;
+        this.mailProperties = mailProperties;
+        this.outboxProperties = outboxProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = boundedExecutorFactory.create("mail-outbox", outboxProperties.getConcurrency());
+    }
+
+    /**
+     * Sends the due emails, batch after batch, until the outbox has no more of them.
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == outboxProperties.getBatchSize());
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEmail> batch = claimBatch();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        int slices = Math.min(outboxProperties.getConcurrency(), batch.size());
+        int sliceSize = (batch.size() + slices - 1) / slices;
+        List<CompletableFuture<Map<Long, String>>> results = new ArrayList<>();
+        for (int from = 0; from < batch.size(); from += sliceSize) {
+            List<OutboxEmail> slice = batch.subList(from, Math.min(from + sliceSize, batch.size()));
+            results.add(CompletableFuture.supplyAsync(() -> send(slice), executor));
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        results.forEach(result -> failures.putAll(result.join()));
+        List<Long> sent = batch.stream().map(OutboxEmail::getId).filter(id -> !failures.containsKey(id)).toList();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxEmailRepository.deleteAllByIdInBatch(sent);
+            if (!failures.isEmpty()) {
+                Instant now = Instant.now();
+                outboxEmailRepository.findAllById(failures.keySet()).forEach(email -> email.failed(failures.get(email.getId()),
+                        outboxProperties.getMaxAttempts(),
+                        now.plus(outboxProperties.backoff(email.getAttempts() + 1))));
+            }
+        });
+        if (!failures.isEmpty()) {
+            log.warn("Failed to send {} of {} emails from the outbox", failures.size(), batch.size());
+        }
+        return batch.size();
+    }
+
+    private List<OutboxEmail> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            List<OutboxEmail> batch = outboxEmailRepository.findDue(OutboxEmail.Status.PENDING, now, Limit.of(outboxProperties.getBatchSize()));
+            batch.forEach(email -> email.claim(now.plus(outboxProperties.getLease())));
+            return batch;
+        });
+    }
+
+    /**
+     * Sends the emails over a single connection.
+     *
+     * @return reasons of the failures by the IDs of the failed emails
+     */
+    private Map<Long, String> send(List<OutboxEmail> emails) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, Long> messages = new IdentityHashMap<>();
+        for (OutboxEmail email : emails) {
+            try {
+                messages.put(toMessage(email), email.getId());
+            } catch (MessagingException e) {
+                failures.put(email.getId(), String.valueOf(e.getMessage()));
+            }
+        }
+
+        try {
+            javaMailSender.send(messages.keySet().toArray(MimeMessage[]::new));
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, cause) ->
+                    failures.put(messages.get((MimeMessage) message), String.valueOf(cause.getMessage())));
+        } catch (MailException e) {
+            messages.values().forEach(id -> failures.put(id, String.valueOf(e.getMessage())));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMessage(OutboxEmail email) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, false, "UTF-8");
+        helper.setFrom(mailProperties.getFrom());
+        helper.setTo(email.getToAddress());
+        helper.setSubject(email.getSubject());
+        helper.setText(email.getContent());
+        return message;
+    }
+
+    @Override
+    public void destroy() {
+        executor.close();
+    }
+
+}
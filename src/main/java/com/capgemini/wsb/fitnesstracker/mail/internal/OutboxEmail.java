@@ -0,0 +1,94 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Email waiting in the outbox to be sent by the {@link OutboxDispatcher}. Sent emails are removed from the outbox,
+ * the ones failing permanently are kept with the {@link Status#FAILED} status for inspection.
+ */
+@Entity
+@Table(name = "email_outbox",
+        indexes = @Index(name = "idx_email_outbox_pending", columnList = "status, next_attempt_at, id"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class OutboxEmail {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+    @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "to_address", nullable = false)
+    private String toAddress;
+
+    @Column(name = "subject", nullable = false)
+    private String subject;
+
+    @Column(name = "content", nullable = false, length = 100_000)
+    @ToString.Exclude
+    private String content;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "status", nullable = false)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Nullable
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    OutboxEmail(final String toAddress, final String subject, final String content, final Instant now) {
+        this.toAddress = toAddress;
+        this.subject = subject;
+        this.content = content;
+        this.status = Status.PENDING;
+        this.nextAttemptAt = now;
+    }
+
+    /**
+     * Takes the email for sending, hiding it from other dispatches until the lease ends.
+     * Unless removed or failed by then, the email is due again once the lease ends, as after a crashed dispatch.
+     *
+     * @param leaseEnd end of the lease
+     */
+    void claim(final Instant leaseEnd) {
+        this.nextAttemptAt = leaseEnd;
+    }
+
+    /**
+     * Records a failed attempt. The email is retried at the given time, or given up once it has no attempts left.
+     *
+     * @param error         reason of the failure
+     * @param maxAttempts   number of attempts after which the email is given up
+     * @param nextAttemptAt time of the next attempt
+     */
+    void failed(final String error, final int maxAttempts, final Instant nextAttemptAt) {
+        this.attempts++;
+        this.lastError = error.length() > 1000 ? error.substring(0, 1000) : error;
+        this.nextAttemptAt = nextAttemptAt;
+        if (attempts >= maxAttempts) {
+            this.status = Status.FAILED;
+        }
+    }
+
+    enum Status {
+
+        PENDING,
+        FAILED
+
+    }
+
+}
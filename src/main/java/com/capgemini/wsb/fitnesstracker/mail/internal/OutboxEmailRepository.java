@@ -0,0 +1,38 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+interface OutboxEmailRepository extends JpaRepository<OutboxEmail, Long> {
+
+    /**
+     * Query searching the oldest emails of the given status due to be sent, served by the {@code idx_email_outbox_pending} index.
+     * The returned emails are locked until the end of the transaction, emails locked by a concurrent dispatch are skipped
+     * ({@code FOR UPDATE SKIP LOCKED}, the lock timeout of {@code -2}) instead of being waited for.
+     * H2 has no {@code SKIP LOCKED}, there the concurrent dispatch waits for the short claiming transaction
+     * and then finds the emails leased.
+     *
+     * @param status {@link OutboxEmail.Status#PENDING}
+     * @param now    current time
+     * @param limit  maximum number of emails to return
+     * @return due emails ordered by ID
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query("""
+            SELECT e FROM OutboxEmail e
+            WHERE e.status = :status AND e.nextAttemptAt <= :now
+            ORDER BY e.id""")
+    List<OutboxEmail> findDue(@Param("status") OutboxEmail.Status status, @Param("now") Instant now, Limit limit);
+
+}
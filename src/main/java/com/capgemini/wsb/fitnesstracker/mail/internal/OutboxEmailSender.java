@@ -0,0 +1,28 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * {@link EmailSender} storing the emails in the persistent outbox, from where they are sent by the {@link OutboxDispatcher}.
+ * Sending costs the caller a single insert - within the transaction of the caller, if there is one,
+ * so the email is sent only if the transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+class OutboxEmailSender implements EmailSender {
+
+    private final OutboxEmailRepository outboxEmailRepository;
+
+    @Override
+    @Transactional
+    public void send(EmailDto email) {
+        outboxEmailRepository.save(new OutboxEmail(email.toAddress(), email.subject(), email.content(), Instant.now()));
+    }
+
+}
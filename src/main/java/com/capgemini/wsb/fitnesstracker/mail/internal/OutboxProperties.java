@@ -0,0 +1,72 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link OutboxDispatcher}. The polling interval itself is configured by {@code mail.outbox.poll-interval}.
+ */
+@ConfigurationProperties(prefix = "mail.outbox")
+@Getter
+class OutboxProperties {
+
+    /**
+     * Maximum number of emails taken from the outbox at once.
+     */
+    private final int batchSize;
+
+    /**
+     * Number of SMTP connections a batch is sent over concurrently.
+     */
+    private final int concurrency;
+
+    /**
+     * Number of attempts after which an email is given up.
+     */
+    private final int maxAttempts;
+
+    /**
+     * Delay of the first retry, doubled on every next one.
+     */
+    private final Duration initialBackoff;
+
+    /**
+     * Upper bound of the delay between retries.
+     */
+    private final Duration maxBackoff;
+
+    /**
+     * Time a batch taken from the outbox is hidden from other dispatches for, has to exceed the time of sending it.
+     * Emails of a dispatch interrupted by a crash are sent again once it ends.
+     */
+    private final Duration lease;
+
+    OutboxProperties(@DefaultValue("500") int batchSize,
+                     @DefaultValue("2") int concurrency,
+                     @DefaultValue("5") int maxAttempts,
+                     @DefaultValue("30s") Duration initialBackoff,
+                     @DefaultValue("1h") Duration maxBackoff,
+                     @DefaultValue("5m") Duration lease) {
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+    }
+
+    /**
+     * Returns the delay before the next attempt of an email which has already failed the given number of times.
+     *
+     * @param attempts number of the failed attempts, at least {@code 1}
+     * @return delay before the next attempt
+     */
+    Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+}
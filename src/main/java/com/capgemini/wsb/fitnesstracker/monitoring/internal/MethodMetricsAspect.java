@@ -0,0 +1,91 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect timing the calls of the services. The repository calls are timed by the {@code spring.data.repository.invocations}
+ * metric of Spring Boot, instrumenting them again here would only double their overhead.
+ * <p>
+ * Every call is recorded by the {@code fitnesstracker.method} timer tagged by the class, method and outcome
+ * ({@code success} or the simple name of the thrown exception), with a percentile histogram - the count of the timer
+ * is the number of the calls per method and outcome. The timers are resolved once per method and outcome and cached,
+ * so a call costs two clock reads and a map lookup. The arguments are logged only if enabled, for a sample of the calls.
+ */
+@Aspect
+@Component
+@Slf4j
+class MethodMetricsAspect {
+
+    static final String METRIC_NAME = "fitnesstracker.method";
+
+    private static final String SUCCESS = "success";
+
+    private final MeterRegistry meterRegistry;
+
+    private final MonitoringProperties.ArgumentLogging argumentLogging;
+
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+
+    MethodMetricsAspect(MeterRegistry meterRegistry, MonitoringProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.argumentLogging = properties.getArgumentLogging();
+    }
+
+    @Pointcut("execution(public * com.capgemini.wsb.fitnesstracker.user.internal.UserServiceImpl.*(..))"
+            + " || execution(public * com.capgemini.wsb.fitnesstracker.training.internal.TrainingServiceImpl.*(..))"
+            + " || execution(public * com.capgemini.wsb.fitnesstracker.statistics.internal.StatisticsServiceImpl.*(..))")
+    void service() {
+    }
+
+    @Around("service()")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        if (argumentLogging.isEnabled() && log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < argumentLogging.getSampleRate()) {
+            log.debug("{}.{}{}", method.getDeclaringClass().getSimpleName(), method.getName(), Arrays.toString(joinPoint.getArgs()));
+        }
+
+        long start = System.nanoTime();
+        String outcome = SUCCESS;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            long duration = System.nanoTime() - start;
+            timer(new TimerKey(AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName(), method.getName(), outcome))
+                    .record(duration, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(TimerKey key) {
+        return timers.computeIfAbsent(key, k -> Timer.builder(METRIC_NAME)
+                .description("Calls of the services")
+                .tag("class", k.className())
+                .tag("method", k.method())
+                .tag("outcome", k.outcome())
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private record TimerKey(String className, String method, String outcome) {
+
+    }
+
+}
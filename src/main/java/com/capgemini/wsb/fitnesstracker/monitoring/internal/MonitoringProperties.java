@@ -0,0 +1,43 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link MethodMetricsAspect}.
+ */
+@ConfigurationProperties(prefix = "monitoring")
+@Getter
+class MonitoringProperties {
+
+    private final ArgumentLogging argumentLogging;
+
+    MonitoringProperties(@DefaultValue ArgumentLogging argumentLogging) {
+        this.argumentLogging = argumentLogging;
+    }
+
+    /**
+     * Logging of the arguments of the instrumented calls, off by default.
+     */
+    @Getter
+    static class ArgumentLogging {
+
+        /**
+         * Whether the arguments are logged at all.
+         */
+        private final boolean enabled;
+
+        /**
+         * Share of the calls which arguments are logged, between {@code 0} and {@code 1}.
+         */
+        private final double sampleRate;
+
+        ArgumentLogging(@DefaultValue("false") boolean enabled, @DefaultValue("0.01") double sampleRate) {
+            this.enabled = enabled;
+            this.sampleRate = sampleRate;
+        }
+
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDate;
+
+/**
+ * Progress of the {@link WeeklyReportJob} for a single week. Users are processed in the order of their IDs,
+ * so the ID of the last user of the last finished chunk is enough to resume an interrupted run.
+ */
+@Entity
+@Table(name = "weekly_report_checkpoints")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class WeeklyReportCheckpoint {
+
+    @Id
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+
+    @Nullable
+    @Column(name = "last_user_id")
+    private Long lastUserId;
+
+    @Column(name = "completed", nullable = false)
+    private boolean completed;
+
+    WeeklyReportCheckpoint(final LocalDate weekStart) {
+        this.weekStart = weekStart;
+    }
+
+    void advance(final Long lastUserId) {
+        this.lastUserId = lastUserId;
+    }
+
+    void complete() {
+        this.completed = true;
+    }
+
+}
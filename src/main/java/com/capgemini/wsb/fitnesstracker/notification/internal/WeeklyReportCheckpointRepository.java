@@ -0,0 +1,9 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+
+interface WeeklyReportCheckpointRepository extends JpaRepository<WeeklyReportCheckpoint, LocalDate> {
+
+}
@@ -0,0 +1,113 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.config.threads.BoundedExecutor;
+import com.capgemini.wsb.fitnesstracker.config.threads.BoundedExecutorFactory;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.capgemini.wsb.fitnesstracker.statistics.api.RollupGranularity;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.statistics.api.WeeklyTrainingSummary;
+import com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Job emailing every user the summary of their trainings of the previous week.
+ * Users are read in keyset paginated chunks, so the memory use does not grow with the number of users. The trainings of
+ * a whole chunk are summarized by a single query over the weekly rollups, and its emails are rendered and queued for
+ * sending concurrently on a bounded pool of threads. The progress is checkpointed after every chunk - a restarted run resumes
+ * after the last finished chunk, so only the emails of the interrupted chunk may be sent twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class WeeklyReportJob {
+
+    private final UserProvider userProvider;
+
+    private final StatisticsProvider statisticsProvider;
+
+    private final EmailSender emailSender;
+
+    private final WeeklyReportRenderer weeklyReportRenderer;
+
+    private final WeeklyReportCheckpointRepository checkpointRepository;
+
+    private final WeeklyReportProperties properties;
+
+    private final BoundedExecutorFactory boundedExecutorFactory;
+
+    private final Clock clock;
+
+    /**
+     * Sends the reports of the previous week, by default every Monday morning.
+     * The week is determined by the application clock, in the zone the weekly rollups are bucketed in.
+     */
+    @Scheduled(cron = "${notification.weekly-report.cron:0 0 6 * * MON}")
+    public void sendLastWeekReports() {
+        sendReports(RollupGranularity.WEEK.bucketStart(LocalDate.now(clock).minusWeeks(1)));
+    }
+
+    /**
+     * Sends the reports of the given week to all the users not reported yet.
+     *
+     * @param weekStart the Monday starting the week
+     * @return number of the emails sent by this run
+     */
+    public int sendReports(final LocalDate weekStart) {
+        WeeklyReportCheckpoint checkpoint = checkpointRepository.findById(weekStart)
+                .orElseGet(() -> new WeeklyReportCheckpoint(weekStart));
+        if (checkpoint.isCompleted()) {
+            log.info("Weekly reports of the week of {} have already been sent", weekStart);
+            return 0;
+        }
+        log.info("Sending weekly reports of the week of {}, starting after User with ID {}", weekStart, checkpoint.getLastUserId());
+
+        int sent = 0;
+        try (BoundedExecutor executor = boundedExecutorFactory.create("weekly-report", properties.getThreads())) {
+            List<UserEmailDto> chunk;
+            do {
+                chunk = userProvider.findUserEmails(checkpoint.getLastUserId(), properties.getChunkSize());
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                sent += sendChunk(chunk, weekStart, executor);
+                checkpoint.advance(chunk.get(chunk.size() - 1).id());
+                checkpoint = checkpointRepository.save(checkpoint);
+            } while (chunk.size() == properties.getChunkSize());
+        }
+
+        checkpoint.complete();
+        checkpointRepository.save(checkpoint);
+        log.info("Sent {} weekly reports of the week of {}", sent, weekStart);
+        return sent;
+    }
+
+    private int sendChunk(List<UserEmailDto> users, LocalDate weekStart, BoundedExecutor executor) {
+        Map<Long, WeeklyTrainingSummary> summaries = statisticsProvider
+                .findWeeklySummaries(users.stream().map(UserEmailDto::id).toList(), weekStart)
+                .stream()
+                .collect(Collectors.toMap(WeeklyTrainingSummary::userId, Function.identity()));
+
+        CompletableFuture<?>[] emails = users.stream()
+                .map(user -> CompletableFuture.runAsync(() -> {
+                    WeeklyTrainingSummary summary = summaries.getOrDefault(user.id(), WeeklyTrainingSummary.empty(user.id()));
+                    emailSender.send(weeklyReportRenderer.render(user, summary, weekStart));
+                }, executor))
+                .toArray(CompletableFuture[]::new);
+        // A failed email stops the run before the chunk is checkpointed, the restarted run retries the whole chunk.
+        CompletableFuture.allOf(emails).join();
+        return emails.length;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.WeeklyTrainingSummary;
+
+import java.time.LocalDate;
+
+/**
+ * Model of the {@code weekly-report} email template.
+ *
+ * @param summary   trainings of the recipient within the week
+ * @param weekStart the Monday starting the week
+ */
+record WeeklyReportModel(WeeklyTrainingSummary summary, LocalDate weekStart) {
+
+}
@@ -0,0 +1,29 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link WeeklyReportJob}. The schedule itself is configured by {@code notification.weekly-report.cron}.
+ */
+@ConfigurationProperties(prefix = "notification.weekly-report")
+@Getter
+class WeeklyReportProperties {
+
+    /**
+     * Number of users read, aggregated and checkpointed at once.
+     */
+    private final int chunkSize;
+
+    /**
+     * Number of threads rendering and queueing the emails of a chunk.
+     */
+    private final int threads;
+
+    WeeklyReportProperties(@DefaultValue("1000") int chunkSize, @DefaultValue("4") int threads) {
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+    }
+
+}
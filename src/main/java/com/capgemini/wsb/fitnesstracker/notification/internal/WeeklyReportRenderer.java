@@ -0,0 +1,38 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailTemplate;
+import com.capgemini.wsb.fitnesstracker.mail.api.TemplateVariable;
+import com.capgemini.wsb.fitnesstracker.statistics.api.WeeklyTrainingSummary;
+import com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static com.capgemini.wsb.fitnesstracker.mail.api.TemplateVariable.decimal;
+import static com.capgemini.wsb.fitnesstracker.mail.api.TemplateVariable.number;
+import static com.capgemini.wsb.fitnesstracker.mail.api.TemplateVariable.text;
+
+/**
+ * Renders the weekly training report of a single user from the {@code weekly-report} email template,
+ * compiled once when the renderer is created. Thread safe, so that the emails of a chunk can be rendered concurrently.
+ */
+@Component
+class WeeklyReportRenderer {
+
+    private static final Map<String, TemplateVariable<WeeklyReportModel>> VARIABLES = Map.of(
+            "weekStart", text(WeeklyReportModel::weekStart),
+            "weekTrainings", number(model -> model.summary().weekTrainings()),
+            "weekDistance", decimal(model -> model.summary().weekDistance(), 2),
+            "weekHours", number(model -> model.summary().weekDurationSeconds() / 3600),
+            "weekMinutes", number(model -> model.summary().weekDurationSeconds() / 60 % 60, 2),
+            "totalTrainings", number(model -> model.summary().totalTrainings()));
+
+    private final EmailTemplate<WeeklyReportModel> template = EmailTemplate.load("weekly-report", VARIABLES);
+
+    EmailDto render(final UserEmailDto user, final WeeklyTrainingSummary summary, final LocalDate weekStart) {
+        return template.render(user.email(), new WeeklyReportModel(summary, weekStart));
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.capgemini.wsb.fitnesstracker.pagination.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import jakarta.annotation.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Helpers for keyset (cursor) paginated listing endpoints.
+ * A page is returned as a plain JSON array; when more results may be available, the {@code Link} header
+ * points to the next page (<a href="https://www.rfc-editor.org/rfc/rfc8288">RFC 8288</a>, {@code rel="next"}).
+ */
+public final class Pagination {
+
+    /**
+     * Page size used when the client does not request any.
+     */
+    public static final int DEFAULT_LIMIT = 100;
+
+    /**
+     * Upper bound for the page size requested by the client.
+     */
+    public static final int MAX_LIMIT = 1000;
+
+    private Pagination() {
+    }
+
+    /**
+     * Resolves the page size requested by the client, falling back to {@link #DEFAULT_LIMIT} and capping it at {@link #MAX_LIMIT}.
+     *
+     * @param requested page size requested by the client, may be {@code null}
+     * @return page size to be used by the query
+     * @throws BusinessException if the requested page size is not positive
+     */
+    public static int limit(@Nullable Integer requested) {
+        if (requested == null) {
+            return DEFAULT_LIMIT;
+        }
+        if (requested < 1) {
+            throw new BusinessException("Page limit must be positive, was %s".formatted(requested));
+        }
+        return Math.min(requested, MAX_LIMIT);
+    }
+
+    /**
+     * Wraps a page of results into a response. If the page is full, a {@code Link} header with the next page URI is added,
+     * built from the current request with the cursor parameters of the last element replaced.
+     *
+     * @param items    results of the current page
+     * @param limit    page size used by the query
+     * @param cursorOf function extracting the cursor query parameters from an element
+     * @param <T>      type of the page element
+     * @return response with the page as body
+     */
+    public static <T> ResponseEntity<List<T>> page(List<T> items, int limit, Function<T, Map<String, Object>> cursorOf) {
+        if (items.size() < limit) {
+            return ResponseEntity.ok(items);
+        }
+        UriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("limit", limit);
+        cursorOf.apply(items.get(items.size() - 1)).forEach(next::replaceQueryParam);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<%s>; rel=\"next\"".formatted(next.build().toUriString()))
+                .body(items);
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.capgemini.wsb.fitnesstracker.sample.api;
+
+/**
+ * Columns of the training samples, stored and read independently of each other.
+ */
+public enum SampleColumn {
+
+    /**
+     * Time of the sample, epoch milliseconds.
+     */
+    TIMESTAMP,
+
+    /**
+     * Pace, seconds per kilometer.
+     */
+    PACE,
+
+    /**
+     * Heart rate, beats per minute.
+     */
+    HEART_RATE,
+
+    /**
+     * Latitude, degrees.
+     */
+    LATITUDE,
+
+    /**
+     * Longitude, degrees.
+     */
+    LONGITUDE
+
+}
@@ -0,0 +1,13 @@
+package com.capgemini.wsb.fitnesstracker.sample.api;
+
+/**
+ * Single measurement of a wearable device during a training.
+ *
+ * @param timestamp time of the sample, epoch milliseconds
+ * @param pace      pace, seconds per kilometer
+ * @param heartRate heart rate, beats per minute
+ * @param latitude  latitude, degrees
+ * @param longitude longitude, degrees
+ */
+public record TrainingSample(long timestamp, double pace, int heartRate, double latitude, double longitude) {
+}
@@ -0,0 +1,22 @@
+package com.capgemini.wsb.fitnesstracker.sample.api;
+
+import java.util.Set;
+
+/**
+ * Interface (API) for reading the high-resolution samples of trainings.
+ */
+public interface TrainingSampleProvider {
+
+    /**
+     * Reads the samples of the training taken within the given period. Only the requested columns are decoded,
+     * the timestamps are always returned.
+     *
+     * @param trainingId ID of the training
+     * @param from       start of the period, epoch milliseconds, inclusive
+     * @param to         end of the period, epoch milliseconds, inclusive
+     * @param columns    columns to read
+     * @return samples of the period ordered by their timestamps, empty if the training has none
+     */
+    TrainingSamples readSamples(Long trainingId, long from, long to, Set<SampleColumn> columns);
+
+}
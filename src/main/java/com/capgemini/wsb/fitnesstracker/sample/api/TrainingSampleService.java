@@ -0,0 +1,23 @@
+package com.capgemini.wsb.fitnesstracker.sample.api;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
+
+import java.util.List;
+
+/**
+ * Interface (API) for storing the high-resolution samples of trainings.
+ */
+public interface TrainingSampleService extends TrainingSampleProvider {
+
+    /**
+     * Appends the samples to the ones already stored for the training.
+     *
+     * @param trainingId ID of the training
+     * @param samples    samples ordered by their timestamps, taken after the last already stored sample
+     * @throws TrainingNotFoundException if the training does not exist
+     * @throws BusinessException         if the samples are not ordered, or not after the already stored ones
+     */
+    void appendSamples(Long trainingId, List<TrainingSample> samples);
+
+}
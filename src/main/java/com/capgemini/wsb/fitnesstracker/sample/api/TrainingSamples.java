@@ -0,0 +1,27 @@
+package com.capgemini.wsb.fitnesstracker.sample.api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.annotation.Nullable;
+
+/**
+ * Samples of a training in the columnar form, as read - the columns which were not requested are {@code null}.
+ * All the present arrays have the same length, the samples are ordered by their timestamps.
+ *
+ * @param timestamps times of the samples, epoch milliseconds
+ * @param pace       pace, seconds per kilometer
+ * @param heartRate  heart rate, beats per minute
+ * @param latitude   latitude, degrees
+ * @param longitude  longitude, degrees
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TrainingSamples(long[] timestamps,
+                              @Nullable double[] pace,
+                              @Nullable int[] heartRate,
+                              @Nullable double[] latitude,
+                              @Nullable double[] longitude) {
+
+    public int size() {
+        return timestamps.length;
+    }
+
+}
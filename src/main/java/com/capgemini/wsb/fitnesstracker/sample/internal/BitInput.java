@@ -0,0 +1,51 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+/**
+ * Reader of the buffers written by {@link BitOutput}.
+ */
+final class BitInput {
+
+    private final byte[] buffer;
+
+    private long bits;
+
+    BitInput(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    boolean readBit() {
+        boolean bit = (buffer[(int) (bits >>> 3)] & (0x80 >>> (bits & 7))) != 0;
+        bits++;
+        return bit;
+    }
+
+    /**
+     * Reads {@code count} bits (at most 64) as the lowest bits of the returned value.
+     */
+    long readBits(int count) {
+        long value = 0;
+        for (int remaining = count; remaining > 0; ) {
+            int index = (int) (bits >>> 3);
+            int available = 8 - (int) (bits & 7);
+            int read = Math.min(available, remaining);
+            int chunk = (buffer[index] >>> (available - read)) & ((1 << read) - 1);
+            value = (value << read) | chunk;
+            bits += read;
+            remaining -= read;
+        }
+        return value;
+    }
+
+    long readVarint() {
+        bits = (bits + 7) & ~7L;
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            long next = readBits(8);
+            value |= (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+}
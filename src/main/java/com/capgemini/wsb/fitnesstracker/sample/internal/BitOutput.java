@@ -0,0 +1,69 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer written bit by bit, most significant bit first.
+ */
+final class BitOutput {
+
+    private byte[] buffer;
+
+    private long bits;
+
+    BitOutput(int expectedBytes) {
+        this.buffer = new byte[Math.max(expectedBytes, 16)];
+    }
+
+    void writeBit(boolean bit) {
+        ensureCapacity(1);
+        if (bit) {
+            buffer[(int) (bits >>> 3)] |= (byte) (0x80 >>> (bits & 7));
+        }
+        bits++;
+    }
+
+    /**
+     * Writes the lowest {@code count} bits of the value.
+     */
+    void writeBits(long value, int count) {
+        ensureCapacity(count);
+        for (int remaining = count; remaining > 0; ) {
+            int index = (int) (bits >>> 3);
+            int free = 8 - (int) (bits & 7);
+            int written = Math.min(free, remaining);
+            int chunk = (int) (value >>> (remaining - written)) & ((1 << written) - 1);
+            buffer[index] |= (byte) (chunk << (free - written));
+            bits += written;
+            remaining -= written;
+        }
+    }
+
+    /**
+     * Writes the value as an unsigned LEB128 varint, aligned to whole bytes.
+     */
+    void writeVarint(long value) {
+        alignToByte();
+        while ((value & ~0x7FL) != 0) {
+            writeBits((value & 0x7F) | 0x80, 8);
+            value >>>= 7;
+        }
+        writeBits(value, 8);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, (int) ((bits + 7) >>> 3));
+    }
+
+    private void alignToByte() {
+        bits = (bits + 7) & ~7L;
+    }
+
+    private void ensureCapacity(int count) {
+        long required = (bits + count + 7) >>> 3;
+        if (required > buffer.length) {
+            buffer = Arrays.copyOf(buffer, (int) Math.max(required, buffer.length * 2L));
+        }
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+/**
+ * Encoding of ascending timestamps as the differences of their consecutive deltas (as in Facebook Gorilla).
+ * Samples taken at a regular interval have the delta-of-delta zero, stored in a single bit, and the jitter of a few
+ * milliseconds fits into 9 or 12 bits. The first timestamp and delta are stored as varints.
+ */
+final class DeltaOfDeltaCodec {
+
+    private DeltaOfDeltaCodec() {
+    }
+
+    static byte[] encode(long[] values, int from, int to) {
+        BitOutput output = new BitOutput((to - from) / 4 + 16);
+        if (to - from == 0) {
+            return output.toByteArray();
+        }
+        output.writeVarint(values[from]);
+        if (to - from == 1) {
+            return output.toByteArray();
+        }
+        long previousDelta = values[from + 1] - values[from];
+        output.writeVarint(ZigZag.encode(previousDelta));
+        for (int i = from + 2; i < to; i++) {
+            long delta = values[i] - values[i - 1];
+            long deltaOfDelta = ZigZag.encode(delta - previousDelta);
+            if (deltaOfDelta == 0) {
+                output.writeBit(false);
+            } else if (deltaOfDelta < 1 << 7) {
+                output.writeBits(0b10, 2);
+                output.writeBits(deltaOfDelta, 7);
+            } else if (deltaOfDelta < 1 << 9) {
+                output.writeBits(0b110, 3);
+                output.writeBits(deltaOfDelta, 9);
+            } else if (deltaOfDelta < 1 << 12) {
+                output.writeBits(0b1110, 4);
+                output.writeBits(deltaOfDelta, 12);
+            } else {
+                output.writeBits(0b1111, 4);
+                output.writeBits(deltaOfDelta, 64);
+            }
+            previousDelta = delta;
+        }
+        return output.toByteArray();
+    }
+
+    static long[] decode(byte[] data, int count) {
+        long[] values = new long[count];
+        if (count == 0) {
+            return values;
+        }
+        BitInput input = new BitInput(data);
+        values[0] = input.readVarint();
+        if (count == 1) {
+            return values;
+        }
+        long delta = ZigZag.decode(input.readVarint());
+        values[1] = values[0] + delta;
+        for (int i = 2; i < count; i++) {
+            if (input.readBit()) {
+                int bits;
+                if (!input.readBit()) {
+                    bits = 7;
+                } else if (!input.readBit()) {
+                    bits = 9;
+                } else if (!input.readBit()) {
+                    bits = 12;
+                } else {
+                    bits = 64;
+                }
+                delta += ZigZag.decode(input.readBits(bits));
+            }
+            values[i] = values[i - 1] + delta;
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+import com.capgemini.wsb.fitnesstracker.sample.api.SampleColumn;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * Single column of a block of consecutive samples of a training, compressed by the codec of the column.
+ * Every block of samples is stored as one row per column, sharing the time range - a read fetches only the rows
+ * of the requested columns, and only of the blocks overlapping the read period.
+ */
+@Entity
+@Table(name = "training_sample_blocks",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_training_sample_blocks",
+                columnNames = {"training_id", "sample_column", "first_timestamp"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+class SampleBlock {
+
+    /**
+     * Upper bound of the encoded column, reached only by a block of {@link TrainingSampleServiceImpl#BLOCK_SIZE} samples
+     * of random doubles.
+     */
+    static final int MAX_DATA_LENGTH = 65_536;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_sample_blocks_seq")
+    @SequenceGenerator(name = "training_sample_blocks_seq", sequenceName = "training_sample_blocks_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "training_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private Training training;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "sample_column", nullable = false)
+    private SampleColumn sampleColumn;
+
+    @Column(name = "first_timestamp", nullable = false)
+    private long firstTimestamp;
+
+    @Column(name = "last_timestamp", nullable = false)
+    private long lastTimestamp;
+
+    @Column(name = "sample_count", nullable = false)
+    private int sampleCount;
+
+    @Column(name = "data", nullable = false, length = MAX_DATA_LENGTH)
+    @ToString.Exclude
+    private byte[] data;
+
+    SampleBlock(Training training, SampleColumn sampleColumn, long firstTimestamp, long lastTimestamp, int sampleCount, byte[] data) {
+        this.training = training;
+        this.sampleColumn = sampleColumn;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+        this.sampleCount = sampleCount;
+        this.data = data;
+    }
+
+    /**
+     * Replaces the contents of a block which is not full yet by the same samples followed by the appended ones.
+     *
+     * @param lastTimestamp timestamp of the last appended sample
+     * @param sampleCount   number of the samples, including the appended ones
+     * @param data          the samples encoded again
+     */
+    void fill(long lastTimestamp, int sampleCount, byte[] data) {
+        this.lastTimestamp = lastTimestamp;
+        this.sampleCount = sampleCount;
+        this.data = data;
+    }
+
+}
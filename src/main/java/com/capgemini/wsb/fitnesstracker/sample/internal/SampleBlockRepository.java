@@ -0,0 +1,45 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+import com.capgemini.wsb.fitnesstracker.sample.api.SampleColumn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+interface SampleBlockRepository extends JpaRepository<SampleBlock, Long> {
+
+    /**
+     * Query searching the blocks of the given columns overlapping the period. Range scan on the {@code uk_training_sample_blocks}
+     * index per column.
+     *
+     * @param trainingId ID of the training
+     * @param columns    columns to read
+     * @param from       start of the period, inclusive
+     * @param to         end of the period, inclusive
+     * @return blocks ordered by their first timestamp and column
+     */
+    @Query("""
+            SELECT b FROM SampleBlock b
+            WHERE b.training.id = :trainingId AND b.sampleColumn IN :columns AND b.firstTimestamp <= :to AND b.lastTimestamp >= :from
+            ORDER BY b.firstTimestamp, b.sampleColumn""")
+    List<SampleBlock> findBlocks(@Param("trainingId") Long trainingId,
+                                 @Param("columns") Collection<SampleColumn> columns,
+                                 @Param("from") long from,
+                                 @Param("to") long to);
+
+    /**
+     * Query searching the last block of the training, one row per column.
+     *
+     * @param trainingId ID of the training
+     * @return blocks ordered by column, empty if the training has no samples
+     */
+    @Query("""
+            SELECT b FROM SampleBlock b
+            WHERE b.training.id = :trainingId
+              AND b.firstTimestamp = (SELECT MAX(l.firstTimestamp) FROM SampleBlock l WHERE l.training.id = :trainingId)
+            ORDER BY b.sampleColumn""")
+    List<SampleBlock> findLastBlocks(@Param("trainingId") Long trainingId);
+
+}
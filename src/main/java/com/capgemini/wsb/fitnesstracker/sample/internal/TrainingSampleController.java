@@ -0,0 +1,60 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.sample.api.SampleColumn;
+import com.capgemini.wsb.fitnesstracker.sample.api.TrainingSample;
+import com.capgemini.wsb.fitnesstracker.sample.api.TrainingSamples;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * REST controller for the high-resolution samples of trainings. Times are passed as epoch milliseconds.
+ */
+@RestController
+@RequestMapping("/v1/trainings/{trainingId}/samples")
+@RequiredArgsConstructor
+class TrainingSampleController {
+
+    private final TrainingSampleServiceImpl trainingSampleService;
+
+    /**
+     * Appends samples to the training.
+     *
+     * @param trainingId the id of the training.
+     * @param samples    the samples ordered by their timestamps, taken after the already stored ones.
+     * @throws TrainingNotFoundException if no training is found with the specified id.
+     * @throws BusinessException         if the samples are not ordered, or not after the already stored ones.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public void appendSamples(@PathVariable Long trainingId, @RequestBody List<TrainingSample> samples) {
+        trainingSampleService.appendSamples(trainingId, samples);
+    }
+
+    /**
+     * Retrieves the samples of the training taken within the given period, in the columnar form.
+     *
+     * @param trainingId the id of the training.
+     * @param from       start of the period, epoch milliseconds (optional).
+     * @param to         end of the period, epoch milliseconds (optional).
+     * @param columns    the columns to return besides the timestamps (optional, all by default).
+     * @return the samples, the columns not requested are omitted.
+     */
+    @GetMapping
+    public TrainingSamples getSamples(@PathVariable Long trainingId,
+                                      @RequestParam(required = false) Long from,
+                                      @RequestParam(required = false) Long to,
+                                      @RequestParam(required = false) Set<SampleColumn> columns) {
+        return trainingSampleService.readSamples(trainingId,
+                from == null ? Long.MIN_VALUE : from,
+                to == null ? Long.MAX_VALUE : to,
+                columns == null ? EnumSet.allOf(SampleColumn.class) : columns);
+    }
+
+}
@@ -0,0 +1,239 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.sample.api.SampleColumn;
+import com.capgemini.wsb.fitnesstracker.sample.api.TrainingSample;
+import com.capgemini.wsb.fitnesstracker.sample.api.TrainingSampleService;
+import com.capgemini.wsb.fitnesstracker.sample.api.TrainingSamples;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service storing the high-resolution training samples as compressed column blocks, see {@link SampleBlock}.
+ * Every column has its own codec - delta-of-delta timestamps, XOR encoded pace and coordinates and varint packed
+ * heart rate. An hour of per-second samples forms a single block, so that a read decodes whole blocks only at the edges
+ * of the period and decoding a column never touches the other ones.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class TrainingSampleServiceImpl implements TrainingSampleService {
+
+    static final int BLOCK_SIZE = 3600;
+
+    private final SampleBlockRepository sampleBlockRepository;
+
+    private final EntityManager entityManager;
+
+    /**
+     * Appends the samples after the stored ones. The last block, if not full yet, is filled first - it is decoded
+     * and encoded again together with the new samples, so that small appends do not leave a trail of small blocks.
+     * Appends to the same training are serialized on its row, so that each one sees the blocks stored by the previous one.
+     */
+    @Override
+    @Transactional
+    public void appendSamples(final Long trainingId, final List<TrainingSample> samples) {
+        Training training = entityManager.find(Training.class, trainingId, LockModeType.PESSIMISTIC_WRITE);
+        if (training == null) {
+            throw new TrainingNotFoundException(trainingId);
+        }
+        if (samples.isEmpty()) {
+            return;
+        }
+        List<SampleBlock> lastBlocks = sampleBlockRepository.findLastBlocks(trainingId);
+        if (!lastBlocks.isEmpty() && samples.get(0).timestamp() <= lastBlocks.get(0).getLastTimestamp()) {
+            throw new BusinessException("Samples of the Training with ID %s are already stored until %d".formatted(trainingId, lastBlocks.get(0).getLastTimestamp()));
+        }
+        List<SampleBlock> partialBlocks = !lastBlocks.isEmpty() && lastBlocks.get(0).getSampleCount() < BLOCK_SIZE ? lastBlocks : List.of();
+
+        Columns columns = new Columns(partialBlocks.isEmpty() ? 0 : partialBlocks.get(0).getSampleCount(), samples.size());
+        partialBlocks.forEach(columns::decode);
+        for (int i = 0; i < samples.size(); i++) {
+            TrainingSample sample = samples.get(i);
+            if (i > 0 && sample.timestamp() <= samples.get(i - 1).timestamp()) {
+                throw new BusinessException("Samples are not ordered by their timestamps at %d".formatted(sample.timestamp()));
+            }
+            columns.add(sample);
+        }
+
+        List<SampleBlock> blocks = new ArrayList<>();
+        for (int from = 0; from < columns.size(); from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, columns.size());
+            long first = columns.timestamps[from];
+            long last = columns.timestamps[to - 1];
+            for (SampleColumn column : SampleColumn.values()) {
+                byte[] data = columns.encode(column, from, to);
+                if (from == 0 && !partialBlocks.isEmpty()) {
+                    partialBlocks.get(column.ordinal()).fill(last, to, data);
+                } else {
+                    blocks.add(new SampleBlock(training, column, first, last, to - from, data));
+                }
+            }
+        }
+        sampleBlockRepository.saveAll(blocks);
+        log.info("Stored {} samples of Training with ID {}", samples.size(), trainingId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TrainingSamples readSamples(final Long trainingId, final long from, final long to, final Set<SampleColumn> columns) {
+        Set<SampleColumn> read = EnumSet.of(SampleColumn.TIMESTAMP);
+        read.addAll(columns);
+        List<SampleBlock> blocks = from > to ? List.of() : sampleBlockRepository.findBlocks(trainingId, read, from, to);
+
+        Map<SampleColumn, List<Object>> slices = new EnumMap<>(SampleColumn.class);
+        read.forEach(column -> slices.put(column, new ArrayList<>()));
+        for (int start = 0; start < blocks.size(); start += read.size()) {
+            // the blocks are ordered by their first timestamp and column, the timestamps first
+            List<SampleBlock> columnBlocks = blocks.subList(start, start + read.size());
+            SampleBlock timestampBlock = columnBlocks.get(0);
+            long[] timestamps = DeltaOfDeltaCodec.decode(timestampBlock.getData(), timestampBlock.getSampleCount());
+            int first = lowerBound(timestamps, from);
+            int last = upperBound(timestamps, to);
+            if (first == last) {
+                continue;
+            }
+            slices.get(SampleColumn.TIMESTAMP).add(Arrays.copyOfRange(timestamps, first, last));
+            for (SampleBlock block : columnBlocks.subList(1, columnBlocks.size())) {
+                slices.get(block.getSampleColumn()).add(decodeRange(block, first, last));
+            }
+        }
+
+        return new TrainingSamples(
+                concatLongs(slices.get(SampleColumn.TIMESTAMP)),
+                read.contains(SampleColumn.PACE) ? concatDoubles(slices.get(SampleColumn.PACE)) : null,
+                read.contains(SampleColumn.HEART_RATE) ? concatInts(slices.get(SampleColumn.HEART_RATE)) : null,
+                read.contains(SampleColumn.LATITUDE) ? concatDoubles(slices.get(SampleColumn.LATITUDE)) : null,
+                read.contains(SampleColumn.LONGITUDE) ? concatDoubles(slices.get(SampleColumn.LONGITUDE)) : null);
+    }
+
+    private static Object decodeRange(SampleBlock block, int from, int to) {
+        return switch (block.getSampleColumn()) {
+            case TIMESTAMP -> Arrays.copyOfRange(DeltaOfDeltaCodec.decode(block.getData(), block.getSampleCount()), from, to);
+            case HEART_RATE -> Arrays.copyOfRange(VarintCodec.decode(block.getData(), block.getSampleCount()), from, to);
+            case PACE, LATITUDE, LONGITUDE -> Arrays.copyOfRange(XorDoubleCodec.decode(block.getData(), block.getSampleCount()), from, to);
+        };
+    }
+
+    /**
+     * @return index of the first timestamp not lower than the given one
+     */
+    private static int lowerBound(long[] timestamps, long timestamp) {
+        int index = Arrays.binarySearch(timestamps, timestamp);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * @return index of the first timestamp greater than the given one
+     */
+    private static int upperBound(long[] timestamps, long timestamp) {
+        int index = Arrays.binarySearch(timestamps, timestamp);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    private static long[] concatLongs(List<Object> slices) {
+        long[] result = new long[slices.stream().mapToInt(slice -> ((long[]) slice).length).sum()];
+        int position = 0;
+        for (Object slice : slices) {
+            long[] values = (long[]) slice;
+            System.arraycopy(values, 0, result, position, values.length);
+            position += values.length;
+        }
+        return result;
+    }
+
+    private static double[] concatDoubles(List<Object> slices) {
+        double[] result = new double[slices.stream().mapToInt(slice -> ((double[]) slice).length).sum()];
+        int position = 0;
+        for (Object slice : slices) {
+            double[] values = (double[]) slice;
+            System.arraycopy(values, 0, result, position, values.length);
+            position += values.length;
+        }
+        return result;
+    }
+
+    private static int[] concatInts(List<Object> slices) {
+        int[] result = new int[slices.stream().mapToInt(slice -> ((int[]) slice).length).sum()];
+        int position = 0;
+        for (Object slice : slices) {
+            int[] values = (int[]) slice;
+            System.arraycopy(values, 0, result, position, values.length);
+            position += values.length;
+        }
+        return result;
+    }
+
+    /**
+     * Samples being appended, column by column, preceded by the samples of the partial block they fill.
+     */
+    private static final class Columns {
+
+        private final long[] timestamps;
+        private final double[] pace;
+        private final int[] heartRate;
+        private final double[] latitude;
+        private final double[] longitude;
+        private int size;
+
+        private Columns(int stored, int appended) {
+            int capacity = stored + appended;
+            this.timestamps = new long[capacity];
+            this.pace = new double[capacity];
+            this.heartRate = new int[capacity];
+            this.latitude = new double[capacity];
+            this.longitude = new double[capacity];
+            this.size = stored;
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private void decode(SampleBlock block) {
+            int count = block.getSampleCount();
+            switch (block.getSampleColumn()) {
+                case TIMESTAMP -> System.arraycopy(DeltaOfDeltaCodec.decode(block.getData(), count), 0, timestamps, 0, count);
+                case PACE -> System.arraycopy(XorDoubleCodec.decode(block.getData(), count), 0, pace, 0, count);
+                case HEART_RATE -> System.arraycopy(VarintCodec.decode(block.getData(), count), 0, heartRate, 0, count);
+                case LATITUDE -> System.arraycopy(XorDoubleCodec.decode(block.getData(), count), 0, latitude, 0, count);
+                case LONGITUDE -> System.arraycopy(XorDoubleCodec.decode(block.getData(), count), 0, longitude, 0, count);
+            }
+        }
+
+        private void add(TrainingSample sample) {
+            timestamps[size] = sample.timestamp();
+            pace[size] = sample.pace();
+            heartRate[size] = sample.heartRate();
+            latitude[size] = sample.latitude();
+            longitude[size] = sample.longitude();
+            size++;
+        }
+
+        private byte[] encode(SampleColumn column, int from, int to) {
+            return switch (column) {
+                case TIMESTAMP -> DeltaOfDeltaCodec.encode(timestamps, from, to);
+                case PACE -> XorDoubleCodec.encode(pace, from, to);
+                case HEART_RATE -> VarintCodec.encode(heartRate, from, to);
+                case LATITUDE -> XorDoubleCodec.encode(latitude, from, to);
+                case LONGITUDE -> XorDoubleCodec.encode(longitude, from, to);
+            };
+        }
+
+    }
+
+}
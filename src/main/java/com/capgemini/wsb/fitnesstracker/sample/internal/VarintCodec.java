@@ -0,0 +1,33 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+/**
+ * Encoding of integer series as zig-zag varints of the differences of consecutive values - a heart rate changing
+ * by a few beats per sample takes a single byte.
+ */
+final class VarintCodec {
+
+    private VarintCodec() {
+    }
+
+    static byte[] encode(int[] values, int from, int to) {
+        BitOutput output = new BitOutput(to - from + 16);
+        int previous = 0;
+        for (int i = from; i < to; i++) {
+            output.writeVarint(ZigZag.encode((long) values[i] - previous));
+            previous = values[i];
+        }
+        return output.toByteArray();
+    }
+
+    static int[] decode(byte[] data, int count) {
+        int[] values = new int[count];
+        BitInput input = new BitInput(data);
+        int previous = 0;
+        for (int i = 0; i < count; i++) {
+            previous += (int) ZigZag.decode(input.readVarint());
+            values[i] = previous;
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+/**
+ * Encoding of floating point series by XOR-ing every value with the previous one (as in Facebook Gorilla).
+ * Slowly changing measurements share the sign, exponent and the leading mantissa bits, so the XOR has long runs of zeros
+ * and only its meaningful bits are stored - a repeated value takes a single bit, and the meaningful bits fitting into
+ * the window of the previous value are stored without their position.
+ */
+final class XorDoubleCodec {
+
+    private static final int MAX_LEADING_ZEROS = 31;
+
+    private XorDoubleCodec() {
+    }
+
+    static byte[] encode(double[] values, int from, int to) {
+        BitOutput output = new BitOutput((to - from) * 2 + 16);
+        if (to - from == 0) {
+            return output.toByteArray();
+        }
+        long previous = Double.doubleToRawLongBits(values[from]);
+        output.writeBits(previous, 64);
+        int previousLeading = -1;
+        int previousTrailing = 0;
+        for (int i = from + 1; i < to; i++) {
+            long current = Double.doubleToRawLongBits(values[i]);
+            long xor = current ^ previous;
+            previous = current;
+            if (xor == 0) {
+                output.writeBit(false);
+                continue;
+            }
+            output.writeBit(true);
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), MAX_LEADING_ZEROS);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (previousLeading >= 0 && leading >= previousLeading && trailing >= previousTrailing) {
+                output.writeBit(false);
+                output.writeBits(xor >>> previousTrailing, 64 - previousLeading - previousTrailing);
+            } else {
+                int meaningful = 64 - leading - trailing;
+                output.writeBit(true);
+                output.writeBits(leading, 5);
+                output.writeBits(meaningful - 1, 6);
+                output.writeBits(xor >>> trailing, meaningful);
+                previousLeading = leading;
+                previousTrailing = trailing;
+            }
+        }
+        return output.toByteArray();
+    }
+
+    static double[] decode(byte[] data, int count) {
+        double[] values = new double[count];
+        if (count == 0) {
+            return values;
+        }
+        BitInput input = new BitInput(data);
+        long previous = input.readBits(64);
+        values[0] = Double.longBitsToDouble(previous);
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            if (input.readBit()) {
+                if (input.readBit()) {
+                    leading = (int) input.readBits(5);
+                    trailing = 64 - leading - ((int) input.readBits(6) + 1);
+                }
+                previous ^= input.readBits(64 - leading - trailing) << trailing;
+            }
+            values[i] = Double.longBitsToDouble(previous);
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+/**
+ * Zig-zag mapping of signed values to unsigned ones, so that small negative values stay small: 0, -1, 1, -2, 2...
+ * are mapped to 0, 1, 2, 3, 4...
+ */
+final class ZigZag {
+
+    private ZigZag() {
+    }
+
+    static long encode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long decode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * Length of the time bucket of a {@link TrainingRollup}. Weeks start on Monday.
+ */
+public enum RollupGranularity {
+
+    DAY,
+    WEEK,
+    MONTH;
+
+    /**
+     * Returns the first day of the bucket containing the given day.
+     *
+     * @param day any day of the bucket
+     * @return first day of the bucket
+     */
+    public LocalDate bucketStart(LocalDate day) {
+        return switch (this) {
+            case DAY -> day;
+            case WEEK -> day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> day.withDayOfMonth(1);
+        };
+    }
+
+}
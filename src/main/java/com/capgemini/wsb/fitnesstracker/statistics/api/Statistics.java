@@ -3,7 +3,13 @@ package com.capgemini.wsb.fitnesstracker.statistics.api;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
+/**
+ * Lifetime aggregates of the trainings of a single user, identified by the ID of the user.
+ * The aggregates are maintained incrementally on every training change, never recomputed on read.
+ */
 @Entity
 @Table(name = "statistics")
 @Getter
@@ -13,11 +19,14 @@ import lombok.*;
 public class Statistics {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
+    @Column(name = "user_id")
+    private Long userId;
 
-    @ManyToOne
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "user_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
     private User user;
 
     @Column(name = "total_trainings", nullable = false)
@@ -29,4 +38,11 @@ public class Statistics {
     @Column(name = "total_calories_burned")
     private int totalCaloriesBurned;
 
-}
\ No newline at end of file
+    public Statistics(final User user, final int totalTrainings, final double totalDistance, final int totalCaloriesBurned) {
+        this.user = user;
+        this.totalTrainings = totalTrainings;
+        this.totalDistance = totalDistance;
+        this.totalCaloriesBurned = totalCaloriesBurned;
+    }
+
+}
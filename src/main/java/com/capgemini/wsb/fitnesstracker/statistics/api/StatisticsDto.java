@@ -0,0 +1,25 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Lifetime training statistics of a user.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatisticsDto {
+
+    private Long userId;
+
+    private int totalTrainings;
+
+    private double totalDistance;
+
+    private int totalCaloriesBurned;
+
+}
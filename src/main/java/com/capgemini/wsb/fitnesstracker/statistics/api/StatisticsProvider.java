@@ -1,16 +1,29 @@
 package com.capgemini.wsb.fitnesstracker.statistics.api;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StatisticsProvider {
 
     /**
-     * Retrieves a statistics based on their ID.
-     * If the user with given ID is not found, then {@link Optional#empty()} will be returned.
+     * Retrieves the statistics of the user with the given ID, by primary key.
+     * If the user has no statistics (e.g. has never trained), then {@link Optional#empty()} will be returned.
      *
-     * @param statisticsId id of the statistics to be searched
+     * @param userId id of the user whose statistics are searched
      * @return An {@link Optional} containing the located Statistics, or {@link Optional#empty()} if not found
      */
-    Optional<Statistics> getStatistics(Long statisticsId);
+    Optional<Statistics> getStatistics(Long userId);
+
+    /**
+     * Retrieves the weekly training summaries of the given users, with a single query over the weekly rollups.
+     * Users without any training are omitted.
+     *
+     * @param userIds   ids of the users whose summaries are searched
+     * @param weekStart the Monday starting the week
+     * @return summaries of the users with at least one training
+     */
+    List<WeeklyTrainingSummary> findWeeklySummaries(Collection<Long> userIds, LocalDate weekStart);
 
 }
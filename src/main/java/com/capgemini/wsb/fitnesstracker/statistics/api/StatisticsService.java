@@ -0,0 +1,29 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+/**
+ * Interface (API) for modifying operations on {@link Statistics} entities through the API.
+ * Implementing classes are responsible for executing changes within a database transaction, whether by continuing an existing transaction or creating a new one if required.
+ */
+public interface StatisticsService {
+
+    /**
+     * Recomputes the statistics and the training rollups of all users from their trainings. Needed only when trainings were written
+     * without going through the training service, e.g. by the initial data loader.
+     */
+    void rebuildStatistics();
+
+    /**
+     * Recomputes the lifetime statistics of all users from their trainings, leaving the training rollups as they are.
+     * Enough after a bulk change of the burned calories, which the rollups do not hold. Trainings may be changed meanwhile,
+     * the users are locked while their statistics are replaced.
+     */
+    void rebuildLifetimeStatistics();
+
+    /**
+     * Recomputes the training rollups of all users from their trainings, leaving the lifetime statistics as they are.
+     * Needed after trainings were written without going through the training service, once their lifetime statistics
+     * are rebuilt by the bulk recomputation of the burned calories.
+     */
+    void rebuildRollups();
+
+}
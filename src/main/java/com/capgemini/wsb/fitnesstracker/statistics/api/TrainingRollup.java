@@ -0,0 +1,77 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+
+/**
+ * Pre-aggregated trainings of a single user and activity type, started within a single day, week or month.
+ * The rollups are maintained incrementally on every training change, so that charting a period reads one row per bucket
+ * instead of all the trainings of the period.
+ */
+@Entity
+@Table(name = "training_rollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_training_rollups_bucket",
+        columnNames = {"user_id", "granularity", "bucket_start", "activity_type"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TrainingRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "training_rollups_seq")
+    @SequenceGenerator(name = "training_rollups_seq", sequenceName = "training_rollups_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    @ToString.Exclude
+    private User user;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "granularity", nullable = false)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDate bucketStart;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityType activityType;
+
+    @Column(name = "sessions", nullable = false)
+    private long sessions;
+
+    @Column(name = "total_distance", nullable = false)
+    private double totalDistance;
+
+    @Column(name = "total_duration_seconds", nullable = false)
+    private long totalDurationSeconds;
+
+    public TrainingRollup(
+            final User user,
+            final RollupGranularity granularity,
+            final LocalDate bucketStart,
+            final ActivityType activityType,
+            final long sessions,
+            final double totalDistance,
+            final long totalDurationSeconds) {
+        this.user = user;
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.activityType = activityType;
+        this.sessions = sessions;
+        this.totalDistance = totalDistance;
+        this.totalDurationSeconds = totalDurationSeconds;
+    }
+
+}
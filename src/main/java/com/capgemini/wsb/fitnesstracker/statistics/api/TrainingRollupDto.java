@@ -0,0 +1,32 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Totals of the trainings of a single activity type, started within a single time bucket.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TrainingRollupDto {
+
+    private RollupGranularity granularity;
+
+    private LocalDate bucketStart;
+
+    private ActivityType activityType;
+
+    private long sessions;
+
+    private double totalDistance;
+
+    private long totalDurationSeconds;
+
+}
@@ -0,0 +1,20 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TrainingRollupProvider {
+
+    /**
+     * Retrieves the rollups of the given user, which buckets start within the given period.
+     * Only buckets with at least one training are returned.
+     *
+     * @param userId      id of the user whose rollups are searched
+     * @param granularity length of the buckets
+     * @param from        first day of the period, inclusive
+     * @param to          last day of the period, inclusive
+     * @return rollups ordered by the bucket start and activity type
+     */
+    List<TrainingRollup> findRollups(Long userId, RollupGranularity granularity, LocalDate from, LocalDate to);
+
+}
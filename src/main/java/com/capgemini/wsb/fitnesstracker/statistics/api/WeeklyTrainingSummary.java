@@ -0,0 +1,25 @@
+package com.capgemini.wsb.fitnesstracker.statistics.api;
+
+/**
+ * Trainings of a user started within a single week, together with the lifetime number of the trainings of the user.
+ *
+ * @param userId               ID of the user
+ * @param totalTrainings       number of all the trainings of the user
+ * @param weekTrainings        number of the trainings within the week
+ * @param weekDistance         total distance of the trainings within the week
+ * @param weekDurationSeconds  total duration of the trainings within the week
+ */
+public record WeeklyTrainingSummary(Long userId,
+                                    int totalTrainings,
+                                    long weekTrainings,
+                                    double weekDistance,
+                                    long weekDurationSeconds) {
+
+    /**
+     * Summary of a user without any training.
+     */
+    public static WeeklyTrainingSummary empty(Long userId) {
+        return new WeeklyTrainingSummary(userId, 0, 0, 0, 0);
+    }
+
+}
@@ -0,0 +1,22 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(StatisticsProperties.class)
+class StatisticsConfig {
+
+    /**
+     * Clock of the application, in the zone the trainings are bucketed in - the calendar days of the API and of the jobs
+     * have to be the days of the rollups.
+     */
+    @Bean
+    Clock clock(StatisticsProperties properties) {
+        return Clock.system(properties.getZone());
+    }
+
+}
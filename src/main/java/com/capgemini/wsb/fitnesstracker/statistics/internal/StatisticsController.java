@@ -0,0 +1,72 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.statistics.api.RollupGranularity;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsDto;
+import com.capgemini.wsb.fitnesstracker.statistics.api.TrainingRollupDto;
+import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for reading the training statistics.
+ */
+@RestController
+@RequestMapping("/v1/statistics")
+@RequiredArgsConstructor
+class StatisticsController {
+
+    private final StatisticsServiceImpl statisticsService;
+
+    private final TrainingRollupServiceImpl trainingRollupService;
+
+    private final StatisticsMapper statisticsMapper;
+
+    private final UserProvider userProvider;
+
+    /**
+     * Retrieves the lifetime statistics of the given user. A user without any training has empty statistics.
+     *
+     * @param userId the id of the user.
+     * @return the StatisticsDto of the user.
+     * @throws UserNotFoundException if no user is found with the specified id.
+     */
+    @GetMapping("/{userId}")
+    public StatisticsDto getStatistics(@PathVariable Long userId) {
+        return statisticsService.getStatistics(userId)
+                .map(statisticsMapper::toDto)
+                .orElseGet(() -> {
+                    userProvider.getUser(userId).orElseThrow(() -> new UserNotFoundException(userId));
+                    return new StatisticsDto(userId, 0, 0, 0);
+                });
+    }
+
+    /**
+     * Retrieves the training totals of the given user per activity type and time bucket, for the buckets starting within the given period.
+     *
+     * @param userId      the id of the user.
+     * @param granularity the length of the buckets - DAY, WEEK or MONTH.
+     * @param from        the first day of the period (YYYY-MM-DD), the bucket containing it is included.
+     * @param to          the last day of the period (YYYY-MM-DD).
+     * @return a list of TrainingRollupDto ordered by the bucket start.
+     * @throws BusinessException if the period ends before it starts.
+     */
+    @GetMapping("/{userId}/rollups")
+    public List<TrainingRollupDto> getRollups(@PathVariable Long userId,
+                                              @RequestParam RollupGranularity granularity,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("Period end %s is before its start %s".formatted(to, from));
+        }
+        return trainingRollupService.findRollups(userId, granularity, from, to).stream()
+                .map(statisticsMapper::toDto)
+                .toList();
+    }
+
+}
@@ -0,0 +1,43 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsDto;
+import com.capgemini.wsb.fitnesstracker.statistics.api.TrainingRollup;
+import com.capgemini.wsb.fitnesstracker.statistics.api.TrainingRollupDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper class for converting Statistics and TrainingRollup entities to DTOs.
+ */
+@Component
+class StatisticsMapper {
+
+    /**
+     * Converts a Statistics entity to a StatisticsDto.
+     *
+     * @param statistics the Statistics entity to convert.
+     * @return the corresponding StatisticsDto.
+     */
+    StatisticsDto toDto(Statistics statistics) {
+        return new StatisticsDto(statistics.getUserId(),
+                statistics.getTotalTrainings(),
+                statistics.getTotalDistance(),
+                statistics.getTotalCaloriesBurned());
+    }
+
+    /**
+     * Converts a TrainingRollup entity to a TrainingRollupDto.
+     *
+     * @param rollup the TrainingRollup entity to convert.
+     * @return the corresponding TrainingRollupDto.
+     */
+    TrainingRollupDto toDto(TrainingRollup rollup) {
+        return new TrainingRollupDto(rollup.getGranularity(),
+                rollup.getBucketStart(),
+                rollup.getActivityType(),
+                rollup.getSessions(),
+                rollup.getTotalDistance(),
+                rollup.getTotalDurationSeconds());
+    }
+
+}
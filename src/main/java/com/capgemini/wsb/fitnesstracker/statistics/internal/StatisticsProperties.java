@@ -0,0 +1,33 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.ZoneId;
+
+/**
+ * Configuration of the training statistics.
+ */
+@ConfigurationProperties(prefix = "statistics")
+@Getter
+class StatisticsProperties {
+
+    /**
+     * Time zone the trainings are bucketed into days, weeks and months in, by their start.
+     * Used both by the incremental updates and by the rebuild of the rollups.
+     */
+    private final ZoneId zone;
+
+    /**
+     * Number of the user IDs whose lifetime statistics are rebuilt in a single transaction, with their users locked.
+     */
+    private final int rebuildChunkSize;
+
+    StatisticsProperties(@DefaultValue("UTC") ZoneId zone,
+                         @DefaultValue("10000") int rebuildChunkSize) {
+        this.zone = zone;
+        this.rebuildChunkSize = rebuildChunkSize;
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.RollupGranularity;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.WeeklyTrainingSummary;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+interface StatisticsRepository extends JpaRepository<Statistics, Long> {
+
+    /**
+     * Query joining the lifetime statistics of the given users with their rollups of a single week.
+     *
+     * @param userIds     IDs of the users
+     * @param granularity {@link RollupGranularity#WEEK}
+     * @param weekStart   first day of the week
+     * @return summaries of the users having statistics
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.statistics.api.WeeklyTrainingSummary(
+                s.userId, s.totalTrainings,
+                coalesce(sum(r.sessions), 0L), coalesce(sum(r.totalDistance), 0.0), coalesce(sum(r.totalDurationSeconds), 0L))
+            FROM Statistics s
+            LEFT JOIN TrainingRollup r ON r.user.id = s.userId AND r.granularity = :granularity AND r.bucketStart = :weekStart
+            WHERE s.userId IN :userIds
+            GROUP BY s.userId, s.totalTrainings""")
+    List<WeeklyTrainingSummary> findWeeklySummaries(@Param("userIds") Collection<Long> userIds,
+                                                    @Param("granularity") RollupGranularity granularity,
+                                                    @Param("weekStart") LocalDate weekStart);
+
+    /**
+     * Adds the given differences to the statistics of the user, in place and without reading them first.
+     * Native, as Hibernate renders the JPQL arithmetic on a {@code double} parameter as a cast H2 cannot parse.
+     * The statistics table is declared as the only one changed, so that only the pending changes of the statistics are flushed
+     * first and the second-level cache regions of other entities are not invalidated. The persistence context is left as it is,
+     * the caller's entities stay managed - statistics are not read by the transactions changing the trainings.
+     *
+     * @param userId    ID of the user
+     * @param trainings difference of the number of trainings
+     * @param distance  difference of the total distance
+     * @param calories  difference of the total burned calories
+     * @return number of updated rows, {@code 0} if the user has no statistics yet
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "statistics"))
+    @Query(value = """
+            UPDATE statistics
+            SET total_trainings = total_trainings + :trainings, total_distance = total_distance + :distance,
+                total_calories_burned = total_calories_burned + :calories
+            WHERE user_id = :userId""", nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("trainings") int trainings,
+                   @Param("distance") double distance,
+                   @Param("calories") int calories);
+
+    @Query("SELECT min(u.id) FROM User u")
+    Long findFirstUserId();
+
+    @Query("SELECT max(u.id) FROM User u")
+    Long findLastUserId();
+
+    /**
+     * Locks the users within the range of IDs, as the first training of a user does before inserting its statistics.
+     *
+     * @param fromId first user ID of the range
+     * @param toId   user ID following the range
+     * @return IDs of the locked users
+     */
+    @Query(value = "SELECT id FROM users WHERE id >= :fromId AND id < :toId ORDER BY id FOR UPDATE", nativeQuery = true)
+    List<Long> lockUsers(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Removes the statistics of the users within the range of IDs. Changes only the statistics table, as {@link #applyDelta}.
+     *
+     * @param fromId first user ID of the range
+     * @param toId   user ID following the range
+     * @return number of removed statistics
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "statistics"))
+    @Query(value = "DELETE FROM statistics WHERE user_id >= :fromId AND user_id < :toId", nativeQuery = true)
+    int deleteByUserIds(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    /**
+     * Recomputes the statistics of the users within the range of IDs having at least one training.
+     * Has to be preceded by removing their statistics.
+     * Changes only the statistics table, as {@link #applyDelta}, but reads the trainings - all pending changes are flushed first.
+     *
+     * @param fromId first user ID of the range
+     * @param toId   user ID following the range
+     * @return number of inserted statistics
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "statistics"))
+    @Query(value = """
+            INSERT INTO statistics (user_id, total_trainings, total_distance, total_calories_burned)
+            SELECT user_id, COUNT(*), SUM(distance), SUM(calories_burned) FROM trainings
+            WHERE user_id >= :fromId AND user_id < :toId
+            GROUP BY user_id""", nativeQuery = true)
+    int insertFromTrainings(@Param("fromId") long fromId, @Param("toId") long toId);
+
+}
@@ -0,0 +1,176 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.RollupGranularity;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import com.capgemini.wsb.fitnesstracker.statistics.api.WeeklyTrainingSummary;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingChangedEvent;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service keeping the {@link Statistics} of the users up to date.
+ * Instead of aggregating the training history, every training change is applied as a difference to the aggregates of the
+ * affected users, in the same transaction as the change itself - so the statistics are never out of sync with the trainings.
+ */
+@Service
+@Slf4j
+class StatisticsServiceImpl implements StatisticsProvider, StatisticsService {
+
+    private final StatisticsRepository statisticsRepository;
+
+    private final TrainingRollupServiceImpl trainingRollupService;
+
+    private final EntityManager entityManager;
+
+    private final StatisticsProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    StatisticsServiceImpl(StatisticsRepository statisticsRepository,
+                          TrainingRollupServiceImpl trainingRollupService,
+                          EntityManager entityManager,
+                          StatisticsProperties properties,
+                          PlatformTransactionManager transactionManager) {
+        this.statisticsRepository = statisticsRepository;
+        this.trainingRollupService = trainingRollupService;
+        this.entityManager = entityManager;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Optional<Statistics> getStatistics(final Long userId) {
+        return statisticsRepository.findById(userId);
+    }
+
+    @Override
+    public List<WeeklyTrainingSummary> findWeeklySummaries(final Collection<Long> userIds, final LocalDate weekStart) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return statisticsRepository.findWeeklySummaries(userIds, RollupGranularity.WEEK, weekStart);
+    }
+
+    /**
+     * Applies the training changes to the statistics of the affected users, merged into a single difference per user.
+     * A training moved to another user is subtracted from the previous user and added to the new one.
+     *
+     * @param event the training changes
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTrainingChanged(final TrainingChangedEvent event) {
+        Map<Long, Delta> deltas = new LinkedHashMap<>();
+        for (TrainingChangedEvent.Change change : event.changes()) {
+            if (change.before() != null) {
+                deltas.merge(change.before().userId(), Delta.of(change.before(), -1), Delta::plus);
+            }
+            if (change.after() != null) {
+                deltas.merge(change.after().userId(), Delta.of(change.after(), 1), Delta::plus);
+            }
+        }
+        deltas.forEach((userId, delta) -> {
+            if (!delta.isEmpty()) {
+                applyDelta(userId, delta);
+            }
+        });
+    }
+
+    @Override
+    public void rebuildStatistics() {
+        rebuildLifetimeStatistics();
+        rebuildRollups();
+    }
+
+    /**
+     * Rebuilds the statistics a range of user IDs at a time, every range in its own transaction. The users of a range are locked
+     * before their statistics are replaced, as by the first training of a user - a training created concurrently is either
+     * counted by the rebuild or applied as a difference to the rebuilt statistics.
+     */
+    @Override
+    public void rebuildLifetimeStatistics() {
+        Long firstId = statisticsRepository.findFirstUserId();
+        Long lastId = statisticsRepository.findLastUserId();
+
+        int users = 0;
+        if (firstId != null && lastId != null) {
+            for (long start = firstId; start <= lastId; start += properties.getRebuildChunkSize()) {
+                long from = start;
+                long to = Math.min(start + properties.getRebuildChunkSize(), lastId + 1);
+                users += transactionTemplate.execute(status -> {
+                    statisticsRepository.lockUsers(from, to);
+                    statisticsRepository.deleteByUserIds(from, to);
+                    return statisticsRepository.insertFromTrainings(from, to);
+                });
+            }
+        }
+        log.info("Rebuilt statistics of {} users", users);
+    }
+
+    @Override
+    public void rebuildRollups() {
+        transactionTemplate.executeWithoutResult(status -> trainingRollupService.rebuildRollups());
+    }
+
+    private void applyDelta(Long userId, Delta delta) {
+        if (update(userId, delta)) {
+            return;
+        }
+        if (delta.trainings() <= 0) {
+            log.warn("Missing statistics of User with ID {}, rebuild the statistics to recover", userId);
+            return;
+        }
+
+        // First training of the user - concurrent first trainings are serialized on the user row,
+        // the later one finds the statistics inserted by the former. A user created in this transaction is flushed to be locked.
+        entityManager.flush();
+        User user = entityManager.find(User.class, userId, LockModeType.PESSIMISTIC_WRITE);
+        if (update(userId, delta)) {
+            return;
+        }
+
+        Statistics statistics = new Statistics(user, delta.trainings(), delta.distance(), delta.calories());
+        entityManager.persist(statistics);
+        entityManager.flush();
+        // Later deltas are applied directly in the database, the managed instance would become stale.
+        entityManager.detach(statistics);
+    }
+
+    private boolean update(Long userId, Delta delta) {
+        return statisticsRepository.applyDelta(userId, delta.trainings(), delta.distance(), delta.calories()) > 0;
+    }
+
+    private record Delta(int trainings, double distance, int calories) {
+
+        static Delta of(TrainingChangedEvent.Snapshot training, int sign) {
+            return new Delta(sign, sign * training.distance(), sign * training.caloriesBurned());
+        }
+
+        Delta plus(Delta other) {
+            return new Delta(trainings + other.trainings, distance + other.distance, calories + other.calories);
+        }
+
+        boolean isEmpty() {
+            return trainings == 0 && distance == 0 && calories == 0;
+        }
+
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.RollupGranularity;
+import com.capgemini.wsb.fitnesstracker.statistics.api.TrainingRollup;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+interface TrainingRollupRepository extends JpaRepository<TrainingRollup, Long> {
+
+    /**
+     * Query searching the non-empty rollups of a user within a period. Range scan on the {@code uk_training_rollups_bucket} index.
+     * Buckets emptied by training updates or deletes are kept, as they are likely to be filled again.
+     *
+     * @param userId      ID of the user
+     * @param granularity length of the buckets
+     * @param from        first bucket start, inclusive
+     * @param to          last bucket start, inclusive
+     * @return rollups ordered by bucket start and activity type
+     */
+    @Query("""
+            SELECT r FROM TrainingRollup r
+            WHERE r.user.id = :userId AND r.granularity = :granularity AND r.bucketStart BETWEEN :from AND :to AND r.sessions > 0
+            ORDER BY r.bucketStart, r.activityType""")
+    List<TrainingRollup> findRollups(@Param("userId") Long userId,
+                                     @Param("granularity") RollupGranularity granularity,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    /**
+     * Adds the given differences to a single bucket, in place and without reading it first.
+     * Native for the same reason as {@link StatisticsRepository#applyDelta}, the enums are bound by their ordinals.
+     * Declares the changed table as well, flushing only the pending changes of the rollups and leaving the persistence context as it is.
+     *
+     * @return number of updated rows, {@code 0} if the bucket does not exist yet
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "training_rollups"))
+    @Query(value = """
+            UPDATE training_rollups
+            SET sessions = sessions + :sessions,
+                total_distance = total_distance + :distance,
+                total_duration_seconds = total_duration_seconds + :durationSeconds
+            WHERE user_id = :userId AND granularity = :granularity AND bucket_start = :bucketStart AND activity_type = :activityType""",
+            nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("granularity") int granularity,
+                   @Param("bucketStart") LocalDate bucketStart,
+                   @Param("activityType") int activityType,
+                   @Param("sessions") long sessions,
+                   @Param("distance") double distance,
+                   @Param("durationSeconds") long durationSeconds);
+
+    /**
+     * Recomputes the rollups of a single granularity from all trainings, aggregated by the database.
+     * Has to be preceded by removing all rollups. IDs are drawn from the sequence directly, one value per rollup,
+     * which never falls into a block allocated by Hibernate.
+     * The start of a training, stored as a wall-clock time of the session time zone, is converted to the given zone
+     * before being truncated to its day, as {@link TrainingRollupServiceImpl} does for the incremental updates.
+     * The day is formatted rather than cast, a cast would convert it back to the session time zone.
+     * Changes only the rollups table, as {@link #applyDelta}, but reads the trainings - all pending changes are flushed first.
+     *
+     * @param granularity ordinal of the {@link RollupGranularity}, the bucket start is derived from the day accordingly
+     * @param zone        ID of the time zone the trainings are bucketed in
+     * @return number of inserted rollups
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "training_rollups"))
+    @Query(value = """
+            INSERT INTO training_rollups (id, user_id, granularity, bucket_start, activity_type, sessions, total_distance, total_duration_seconds)
+            SELECT NEXT VALUE FOR training_rollups_seq, user_id, :granularity, bucket_start, activity_type, sessions, total_distance, total_duration_seconds
+            FROM (
+                SELECT user_id, bucket_start, activity_type,
+                       COUNT(*) AS sessions, SUM(distance) AS total_distance, SUM(duration_millis / 1000) AS total_duration_seconds
+                FROM (
+                    SELECT user_id, activity_type, distance, DATEDIFF(MILLISECOND, start_time, end_time) AS duration_millis,
+                           CASE :granularity
+                               WHEN 0 THEN start_day
+                               WHEN 1 THEN DATEADD(DAY, 1 - ISO_DAY_OF_WEEK(start_day), start_day)
+                               ELSE DATEADD(DAY, 1 - DAY_OF_MONTH(start_day), start_day)
+                           END AS bucket_start
+                    FROM (SELECT t.*, CAST(FORMATDATETIME(t.start_time AT TIME ZONE :zone, 'yyyy-MM-dd') AS DATE) AS start_day FROM trainings t WHERE t.user_id IS NOT NULL)
+                )
+                GROUP BY user_id, bucket_start, activity_type
+            )""", nativeQuery = true)
+    int insertFromTrainings(@Param("granularity") int granularity, @Param("zone") String zone);
+
+}
@@ -0,0 +1,155 @@
+package com.capgemini.wsb.fitnesstracker.statistics.internal;
+
+import com.capgemini.wsb.fitnesstracker.statistics.api.RollupGranularity;
+import com.capgemini.wsb.fitnesstracker.statistics.api.TrainingRollup;
+import com.capgemini.wsb.fitnesstracker.statistics.api.TrainingRollupProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingChangedEvent;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service keeping the {@link TrainingRollup}s up to date.
+ * Every training change is applied as a difference to the day, week and month buckets of the affected trainings,
+ * in the same transaction as the change itself. The differences of a bulk change are merged, each bucket is written once. Trainings are bucketed by their start, in the time zone configured by {@code statistics.zone}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class TrainingRollupServiceImpl implements TrainingRollupProvider {
+
+    private final TrainingRollupRepository trainingRollupRepository;
+
+    private final StatisticsProperties statisticsProperties;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<TrainingRollup> findRollups(final Long userId,
+                                            final RollupGranularity granularity,
+                                            final LocalDate from,
+                                            final LocalDate to) {
+        return trainingRollupRepository.findRollups(userId, granularity, granularity.bucketStart(from), to);
+    }
+
+    /**
+     * Applies the training changes to the affected buckets. The changes of all trainings of the event are merged by bucket
+     * before being written, so every bucket is written once (e.g. a distance correction only touches the totals, not the sessions).
+     *
+     * @param event the training changes
+     */
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTrainingChanged(final TrainingChangedEvent event) {
+        Map<Bucket, Delta> deltas = new LinkedHashMap<>();
+        for (TrainingChangedEvent.Change change : event.changes()) {
+            if (change.before() != null) {
+                addDeltas(deltas, change.before(), -1);
+            }
+            if (change.after() != null) {
+                addDeltas(deltas, change.after(), 1);
+            }
+        }
+        deltas.forEach((bucket, delta) -> {
+            if (!delta.isEmpty()) {
+                applyDelta(bucket, delta);
+            }
+        });
+    }
+
+    /**
+     * Recomputes all the rollups from the trainings, aggregated by the database one granularity at a time.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    void rebuildRollups() {
+        trainingRollupRepository.deleteAllInBatch();
+        int rollups = 0;
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            rollups += trainingRollupRepository.insertFromTrainings(granularity.ordinal(), statisticsProperties.getZone().getId());
+        }
+        log.info("Rebuilt {} training rollups", rollups);
+    }
+
+    private void applyDelta(Bucket bucket, Delta delta) {
+        if (update(bucket, delta)) {
+            return;
+        }
+        if (delta.sessions() <= 0) {
+            log.warn("Missing {} training rollup of User with ID {}, rebuild the statistics to recover", bucket.granularity(), bucket.userId());
+            return;
+        }
+
+        // First training in the bucket - concurrent first trainings are serialized on the user row,
+        // the later one finds the bucket inserted by the former. A user created in this transaction is flushed to be locked.
+        entityManager.flush();
+        User user = entityManager.find(User.class, bucket.userId(), LockModeType.PESSIMISTIC_WRITE);
+        if (update(bucket, delta)) {
+            return;
+        }
+
+        TrainingRollup rollup = toRollup(user, bucket, delta);
+        entityManager.persist(rollup);
+        entityManager.flush();
+        // Later deltas are applied directly in the database, the managed instance would become stale.
+        entityManager.detach(rollup);
+    }
+
+    private boolean update(Bucket bucket, Delta delta) {
+        return trainingRollupRepository.applyDelta(bucket.userId(),
+                bucket.granularity().ordinal(),
+                bucket.bucketStart(),
+                bucket.activityType().ordinal(),
+                delta.sessions(),
+                delta.distance(),
+                delta.durationSeconds()) > 0;
+    }
+
+    private TrainingRollup toRollup(User user, Bucket bucket, Delta delta) {
+        return new TrainingRollup(user,
+                bucket.granularity(),
+                bucket.bucketStart(),
+                bucket.activityType(),
+                delta.sessions(),
+                delta.distance(),
+                delta.durationSeconds());
+    }
+
+    private void addDeltas(Map<Bucket, Delta> deltas, TrainingChangedEvent.Snapshot training, int sign) {
+        LocalDate day = training.startTime().toInstant().atZone(statisticsProperties.getZone()).toLocalDate();
+        long durationSeconds = (training.endTime().getTime() - training.startTime().getTime()) / 1000;
+        Delta delta = new Delta(sign, sign * training.distance(), sign * durationSeconds);
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            Bucket bucket = new Bucket(training.userId(), granularity, granularity.bucketStart(day), training.activityType());
+            deltas.merge(bucket, delta, Delta::plus);
+        }
+    }
+
+    private record Bucket(Long userId, RollupGranularity granularity, LocalDate bucketStart, ActivityType activityType) {
+
+    }
+
+    private record Delta(long sessions, double distance, long durationSeconds) {
+
+        Delta plus(Delta other) {
+            return new Delta(sessions + other.sessions, distance + other.distance, durationSeconds + other.durationSeconds);
+        }
+
+        boolean isEmpty() {
+            return sessions == 0 && distance == 0 && durationSeconds == 0;
+        }
+
+    }
+
+}
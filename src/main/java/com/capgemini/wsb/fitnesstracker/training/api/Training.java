@@ -6,22 +6,31 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Date;
+
 @Entity
-@Table(name = "trainings")
+@Table(name = "trainings", indexes = {
+        @Index(name = "idx_trainings_user_start_time", columnList = "user_id, start_time, id"),
+        @Index(name = "idx_trainings_activity_type_end_time", columnList = "activity_type, end_time, id"),
+        @Index(name = "idx_trainings_end_time", columnList = "end_time, id")})
 @Getter
+@Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
 public class Training {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trainings_seq")
+    @SequenceGenerator(name = "trainings_seq", sequenceName = "trainings_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
     private User user;
 
     @Column(name = "start_time", nullable = false)
@@ -40,6 +49,13 @@ public class Training {
     @Column(name = "average_speed")
     private double averageSpeed;
 
+    /**
+     * Energy burned by the training in kcal, computed from the other attributes on every change.
+     */
+    @ColumnDefault("0")
+    @Column(name = "calories_burned", nullable = false)
+    private int caloriesBurned;
+
     public Training(
             final User user,
             final Date startTime,
@@ -0,0 +1,72 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Event published after trainings have been created, updated or deleted, synchronously within the modifying transaction.
+ * Carries the state of every training before and after the change, so that the listeners maintaining derived data can apply
+ * the difference instead of recomputing it from the training history. A bulk change is published as a single event,
+ * letting the listeners merge the differences of all its trainings before writing them.
+ *
+ * @param changes the changed trainings
+ */
+public record TrainingChangedEvent(List<Change> changes) {
+
+    /**
+     * Event of a single training change.
+     *
+     * @param before state of the training before the change, {@code null} if the training was created
+     * @param after  state of the training after the change, {@code null} if the training was deleted
+     */
+    public TrainingChangedEvent(@Nullable Snapshot before, @Nullable Snapshot after) {
+        this(List.of(new Change(before, after)));
+    }
+
+    /**
+     * Event of the trainings created together.
+     *
+     * @param trainings the created trainings
+     * @return the event
+     */
+    public static TrainingChangedEvent created(List<Training> trainings) {
+        return new TrainingChangedEvent(trainings.stream().map(training -> new Change(null, Snapshot.of(training))).toList());
+    }
+
+    /**
+     * Change of a single training.
+     *
+     * @param before state of the training before the change, {@code null} if the training was created
+     * @param after  state of the training after the change, {@code null} if the training was deleted
+     */
+    public record Change(@Nullable Snapshot before, @Nullable Snapshot after) {
+
+    }
+
+    /**
+     * State of a training at some point of time.
+     */
+    public record Snapshot(Long trainingId,
+                           Long userId,
+                           Date startTime,
+                           Date endTime,
+                           ActivityType activityType,
+                           double distance,
+                           int caloriesBurned) {
+
+        public static Snapshot of(Training training) {
+            return new Snapshot(training.getId(),
+                    training.getUser().getId(),
+                    training.getStartTime(),
+                    training.getEndTime(),
+                    training.getActivityType(),
+                    training.getDistance(),
+                    training.getCaloriesBurned());
+        }
+
+    }
+
+}
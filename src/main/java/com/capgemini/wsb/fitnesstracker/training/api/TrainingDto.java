@@ -0,0 +1,20 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.UserDto;
+
+import java.util.Date;
+
+/**
+ * Details of a training, together with the user it belongs to.
+ */
+public record TrainingDto(Long id,
+                          UserDto user,
+                          Date startTime,
+                          Date endTime,
+                          ActivityType activityType,
+                          double distance,
+                          double averageSpeed,
+                          int caloriesBurned) {
+
+}
@@ -1,18 +1,70 @@
 package com.capgemini.wsb.fitnesstracker.training.api;
 
-import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Interface (API) for read operations on {@link Training} entities.
+ * All listing methods are keyset paginated - the next page starts right after the last training of the previous one,
+ * identified by the ordering time (if any) and its ID. {@code null} keyset values request the first page.
+ * The returned trainings have their user initialized, loaded by the same query.
+ */
 public interface TrainingProvider {
 
     /**
      * Retrieves a training based on their ID.
-     * If the user with given ID is not found, then {@link Optional#empty()} will be returned.
+     * If the training with given ID is not found, then {@link Optional#empty()} will be returned.
+     * The user of the training is initialized.
      *
      * @param trainingId id of the training to be searched
      * @return An {@link Optional} containing the located Training, or {@link Optional#empty()} if not found
      */
-    Optional<User> getTraining(Long trainingId);
+    Optional<Training> getTraining(Long trainingId);
+
+    /**
+     * Retrieves a page of all trainings ordered by ID.
+     *
+     * @param afterId ID of the last training from the previous page, or {@code null} for the first page
+     * @param limit   maximum number of trainings to return
+     * @return trainings with ID greater than {@code afterId}, at most {@code limit} of them
+     */
+    List<Training> findAllTrainings(@Nullable Long afterId, int limit);
+
+    /**
+     * Retrieves a page of trainings of the given user, ordered by start time and ID.
+     *
+     * @param userId         ID of the user whose trainings are searched
+     * @param afterStartTime start time of the last training from the previous page, or {@code null} for the first page
+     * @param afterId        ID of the last training from the previous page, or {@code null} for the first page
+     * @param limit          maximum number of trainings to return
+     * @return trainings of the user, at most {@code limit} of them
+     */
+    List<Training> findTrainingsByUser(Long userId, @Nullable Date afterStartTime, @Nullable Long afterId, int limit);
+
+    /**
+     * Retrieves a page of trainings of the given activity type, ordered by end time and ID.
+     *
+     * @param activityType activity type of the searched trainings
+     * @param afterEndTime end time of the last training from the previous page, or {@code null} for the first page
+     * @param afterId      ID of the last training from the previous page, or {@code null} for the first page
+     * @param limit        maximum number of trainings to return
+     * @return trainings of the activity type, at most {@code limit} of them
+     */
+    List<Training> findTrainingsByActivityType(ActivityType activityType, @Nullable Date afterEndTime, @Nullable Long afterId, int limit);
+
+    /**
+     * Retrieves a page of trainings finished after the given time, ordered by end time and ID.
+     *
+     * @param time         only trainings ending after this time are returned
+     * @param afterEndTime end time of the last training from the previous page, or {@code null} for the first page
+     * @param afterId      ID of the last training from the previous page, or {@code null} for the first page
+     * @param limit        maximum number of trainings to return
+     * @return trainings finished after the given time, at most {@code limit} of them
+     */
+    List<Training> findTrainingsFinishedAfter(Date time, @Nullable Date afterEndTime, @Nullable Long afterId, int limit);
 
 }
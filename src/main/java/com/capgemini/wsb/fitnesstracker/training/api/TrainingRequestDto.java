@@ -0,0 +1,18 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import jakarta.annotation.Nullable;
+
+import java.util.Date;
+
+/**
+ * Data of a training to be created or updated. On update, only the provided (non-null) attributes are changed.
+ */
+public record TrainingRequestDto(@Nullable Long userId,
+                                 @Nullable Date startTime,
+                                 @Nullable Date endTime,
+                                 @Nullable ActivityType activityType,
+                                 @Nullable Double distance,
+                                 @Nullable Double averageSpeed) {
+
+}
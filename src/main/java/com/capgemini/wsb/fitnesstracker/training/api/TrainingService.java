@@ -0,0 +1,19 @@
+package com.capgemini.wsb.fitnesstracker.training.api;
+
+import java.util.List;
+
+/**
+ * Interface (API) for modifying operations on {@link Training} entities through the API.
+ * Implementing classes are responsible for executing changes within a database transaction, whether by continuing an existing transaction or creating a new one if required.
+ */
+public interface TrainingService {
+
+    Training createTraining(TrainingRequestDto training);
+
+    List<Training> createTrainings(List<TrainingRequestDto> trainings);
+
+    Training updateTraining(Long trainingId, TrainingRequestDto training);
+
+    void deleteTraining(Long trainingId);
+
+}
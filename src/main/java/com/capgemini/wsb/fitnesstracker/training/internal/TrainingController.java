@@ -0,0 +1,166 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * REST controller for managing trainings.
+ * Listing endpoints are keyset paginated, the next page is linked in the {@code Link} response header.
+ * Times in the page cursors are passed as epoch milliseconds.
+ */
+@RestController
+@RequestMapping("/v1/trainings")
+@RequiredArgsConstructor
+class TrainingController {
+
+    private final TrainingServiceImpl trainingService;
+
+    private final TrainingMapper trainingMapper;
+
+    private final Clock clock;
+
+    /**
+     * Retrieves a page of all trainings, ordered by id.
+     *
+     * @param afterId id of the last training from the previous page (optional).
+     * @param limit   maximum number of trainings to return (optional).
+     * @return a list of TrainingDto.
+     */
+    @GetMapping
+    public ResponseEntity<List<TrainingDto>> getAllTrainings(@RequestParam(required = false) Long afterId,
+                                                             @RequestParam(required = false) Integer limit) {
+        int pageSize = Pagination.limit(limit);
+        List<TrainingDto> trainings = toDtos(trainingService.findAllTrainings(afterId, pageSize));
+        return Pagination.page(trainings, pageSize, training -> Map.of("afterId", training.id()));
+    }
+
+    /**
+     * Retrieves a page of trainings of the given user, ordered by start time.
+     *
+     * @param userId         the id of the user.
+     * @param afterStartTime start time (epoch milliseconds) of the last training from the previous page (optional).
+     * @param afterId        id of the last training from the previous page (optional).
+     * @param limit          maximum number of trainings to return (optional).
+     * @return a list of TrainingDto of the user.
+     */
+    @GetMapping("/{userId}")
+    public ResponseEntity<List<TrainingDto>> getTrainingsByUser(@PathVariable Long userId,
+                                                                @RequestParam(required = false) Long afterStartTime,
+                                                                @RequestParam(required = false) Long afterId,
+                                                                @RequestParam(required = false) Integer limit) {
+        int pageSize = Pagination.limit(limit);
+        List<TrainingDto> trainings = toDtos(trainingService.findTrainingsByUser(userId, toDate(afterStartTime), afterId, pageSize));
+        return Pagination.page(trainings, pageSize, training -> Map.of(
+                "afterStartTime", training.startTime().getTime(),
+                "afterId", training.id()));
+    }
+
+    /**
+     * Retrieves a page of trainings finished after the given date, ordered by end time.
+     *
+     * @param afterTime    the date (YYYY-MM-DD) after which the trainings have ended, starting at midnight in the zone of the rollups.
+     * @param afterEndTime end time (epoch milliseconds) of the last training from the previous page (optional).
+     * @param afterId      id of the last training from the previous page (optional).
+     * @param limit        maximum number of trainings to return (optional).
+     * @return a list of TrainingDto finished after the given date.
+     */
+    @GetMapping("/finished/{afterTime}")
+    public ResponseEntity<List<TrainingDto>> getFinishedTrainings(@PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterTime,
+                                                                  @RequestParam(required = false) Long afterEndTime,
+                                                                  @RequestParam(required = false) Long afterId,
+                                                                  @RequestParam(required = false) Integer limit) {
+        int pageSize = Pagination.limit(limit);
+        Date time = Date.from(afterTime.atStartOfDay(clock.getZone()).toInstant());
+        List<TrainingDto> trainings = toDtos(trainingService.findTrainingsFinishedAfter(time, toDate(afterEndTime), afterId, pageSize));
+        return Pagination.page(trainings, pageSize, this::endTimeCursor);
+    }
+
+    /**
+     * Retrieves a page of trainings of the given activity type, ordered by end time.
+     *
+     * @param activityType the activity type of the trainings.
+     * @param afterEndTime end time (epoch milliseconds) of the last training from the previous page (optional).
+     * @param afterId      id of the last training from the previous page (optional).
+     * @param limit        maximum number of trainings to return (optional).
+     * @return a list of TrainingDto of the activity type.
+     */
+    @GetMapping("/activityType")
+    public ResponseEntity<List<TrainingDto>> getTrainingsByActivityType(@RequestParam ActivityType activityType,
+                                                                        @RequestParam(required = false) Long afterEndTime,
+                                                                        @RequestParam(required = false) Long afterId,
+                                                                        @RequestParam(required = false) Integer limit) {
+        int pageSize = Pagination.limit(limit);
+        List<TrainingDto> trainings = toDtos(trainingService.findTrainingsByActivityType(activityType, toDate(afterEndTime), afterId, pageSize));
+        return Pagination.page(trainings, pageSize, this::endTimeCursor);
+    }
+
+    /**
+     * Creates a new training.
+     *
+     * @param request the data of the training to create.
+     * @return the created TrainingDto.
+     * @throws UserNotFoundException if the referenced user does not exist.
+     */
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public TrainingDto createTraining(@RequestBody TrainingRequestDto request) {
+        return trainingMapper.toDto(trainingService.createTraining(request));
+    }
+
+    /**
+     * Updates an existing training. Only the provided attributes are changed.
+     *
+     * @param trainingId the id of the training to update.
+     * @param request    the data to update the training with.
+     * @return the updated TrainingDto.
+     * @throws TrainingNotFoundException if no training is found with the specified id.
+     */
+    @PutMapping("/{trainingId}")
+    public TrainingDto updateTraining(@PathVariable Long trainingId, @RequestBody TrainingRequestDto request) {
+        return trainingMapper.toDto(trainingService.updateTraining(trainingId, request));
+    }
+
+    /**
+     * Deletes a training.
+     *
+     * @param trainingId the id of the training to delete.
+     * @throws TrainingNotFoundException if no training is found with the specified id.
+     */
+    @DeleteMapping("/{trainingId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteTraining(@PathVariable Long trainingId) {
+        trainingService.deleteTraining(trainingId);
+    }
+
+    private List<TrainingDto> toDtos(List<Training> trainings) {
+        return trainings.stream()
+                .map(trainingMapper::toDto)
+                .toList();
+    }
+
+    private Map<String, Object> endTimeCursor(TrainingDto training) {
+        return Map.of(
+                "afterEndTime", training.endTime().getTime(),
+                "afterId", training.id());
+    }
+
+    private static Date toDate(Long epochMillis) {
+        return epochMillis == null ? null : new Date(epochMillis);
+    }
+
+}
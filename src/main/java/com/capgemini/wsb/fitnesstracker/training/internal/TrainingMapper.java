@@ -0,0 +1,33 @@
+package com.capgemini.wsb.fitnesstracker.training.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingDto;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserDto;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper class for converting Training entities to DTOs.
+ */
+@Component
+class TrainingMapper {
+
+    /**
+     * Converts a Training entity to a TrainingDto, including the details of the user.
+     *
+     * @param training the Training entity to convert.
+     * @return the corresponding TrainingDto.
+     */
+    TrainingDto toDto(Training training) {
+        User user = training.getUser();
+        return new TrainingDto(training.getId(),
+                new UserDto(user.getId(), user.getFirstName(), user.getLastName(), user.getBirthdate(), user.getEmail()),
+                training.getStartTime(),
+                training.getEndTime(),
+                training.getActivityType(),
+                training.getDistance(),
+                training.getAverageSpeed(),
+                training.getCaloriesBurned());
+    }
+
+}
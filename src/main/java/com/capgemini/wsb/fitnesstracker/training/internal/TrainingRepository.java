@@ -1,8 +1,140 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
 import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * {@link Training#getUser()} is fetched lazily. Queries which results are returned together with the user details
+ * load it in the same statement through the {@value #WITH_USER} entity graph, the others leave it as an uninitialized
+ * reference, which still provides the user ID without touching the {@code users} table.
+ */
 interface TrainingRepository extends JpaRepository<Training, Long> {
 
+    String WITH_USER = "user";
+
+    /**
+     * Query searching a training by ID, together with its user.
+     *
+     * @param id ID of the training
+     * @return the training with initialized user, if found
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("SELECT t FROM Training t WHERE t.id = :id")
+    Optional<Training> findWithUserById(@Param("id") Long id);
+
+    /**
+     * Query searching a page of all trainings, starting right after the given ID.
+     *
+     * @param afterId ID of the last training from the previous page, {@code 0} for the first page
+     * @param limit   maximum number of trainings to return
+     * @return trainings ordered by ID
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("SELECT t FROM Training t WHERE t.id > :afterId ORDER BY t.id")
+    List<Training> findPage(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Query searching the first page of trainings of the given user.
+     * Served by the {@code idx_trainings_user_start_time} index.
+     *
+     * @param userId ID of the user
+     * @param limit  maximum number of trainings to return
+     * @return trainings ordered by start time and ID
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("SELECT t FROM Training t WHERE t.user.id = :userId ORDER BY t.startTime, t.id")
+    List<Training> findByUser(@Param("userId") Long userId, Limit limit);
+
+    /**
+     * Query searching the next page of trainings of the given user, starting right after the given keyset.
+     *
+     * @param userId         ID of the user
+     * @param afterStartTime start time of the last training from the previous page
+     * @param afterId        ID of the last training from the previous page
+     * @param limit          maximum number of trainings to return
+     * @return trainings ordered by start time and ID
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("""
+            SELECT t FROM Training t
+            WHERE t.user.id = :userId
+              AND (t.startTime > :afterStartTime OR (t.startTime = :afterStartTime AND t.id > :afterId))
+            ORDER BY t.startTime, t.id""")
+    List<Training> findByUser(@Param("userId") Long userId,
+                              @Param("afterStartTime") Date afterStartTime,
+                              @Param("afterId") Long afterId,
+                              Limit limit);
+
+    /**
+     * Query searching the first page of trainings of the given activity type.
+     * Served by the {@code idx_trainings_activity_type_end_time} index.
+     *
+     * @param activityType activity type of the trainings
+     * @param limit        maximum number of trainings to return
+     * @return trainings ordered by end time and ID
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("SELECT t FROM Training t WHERE t.activityType = :activityType ORDER BY t.endTime, t.id")
+    List<Training> findByActivityType(@Param("activityType") ActivityType activityType, Limit limit);
+
+    /**
+     * Query searching the next page of trainings of the given activity type, starting right after the given keyset.
+     *
+     * @param activityType activity type of the trainings
+     * @param afterEndTime end time of the last training from the previous page
+     * @param afterId      ID of the last training from the previous page
+     * @param limit        maximum number of trainings to return
+     * @return trainings ordered by end time and ID
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("""
+            SELECT t FROM Training t
+            WHERE t.activityType = :activityType
+              AND (t.endTime > :afterEndTime OR (t.endTime = :afterEndTime AND t.id > :afterId))
+            ORDER BY t.endTime, t.id""")
+    List<Training> findByActivityType(@Param("activityType") ActivityType activityType,
+                                      @Param("afterEndTime") Date afterEndTime,
+                                      @Param("afterId") Long afterId,
+                                      Limit limit);
+
+    /**
+     * Query searching the first page of trainings finished after the given time.
+     * Range scan on the {@code idx_trainings_end_time} index.
+     *
+     * @param time  trainings ending after this time are returned
+     * @param limit maximum number of trainings to return
+     * @return trainings ordered by end time and ID
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("SELECT t FROM Training t WHERE t.endTime > :time ORDER BY t.endTime, t.id")
+    List<Training> findFinishedAfter(@Param("time") Date time, Limit limit);
+
+    /**
+     * Query searching the next page of trainings finished after the given time, starting right after the given keyset.
+     *
+     * @param time         trainings ending after this time are returned
+     * @param afterEndTime end time of the last training from the previous page
+     * @param afterId      ID of the last training from the previous page
+     * @param limit        maximum number of trainings to return
+     * @return trainings ordered by end time and ID
+     */
+    @EntityGraph(attributePaths = WITH_USER)
+    @Query("""
+            SELECT t FROM Training t
+            WHERE t.endTime > :time
+              AND (t.endTime > :afterEndTime OR (t.endTime = :afterEndTime AND t.id > :afterId))
+            ORDER BY t.endTime, t.id""")
+    List<Training> findFinishedAfter(@Param("time") Date time,
+                                     @Param("afterEndTime") Date afterEndTime,
+                                     @Param("afterId") Long afterId,
+                                     Limit limit);
+
 }
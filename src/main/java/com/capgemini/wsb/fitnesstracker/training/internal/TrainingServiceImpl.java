@@ -1,16 +1,182 @@
 package com.capgemini.wsb.fitnesstracker.training.internal;
 
-import com.capgemini.wsb.fitnesstracker.training.api.TrainingProvider;
+import com.capgemini.wsb.fitnesstracker.calories.api.CalorieProvider;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.training.api.*;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserNotFoundException;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
-// TODO: Provide Impl
-public class TrainingServiceImpl implements TrainingProvider {
+/**
+ * Service implementation for CRUD operations on trainings.
+ * The burned calories are recomputed on every change, which is announced with a {@link TrainingChangedEvent}, published within
+ * the modifying transaction.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class TrainingServiceImpl implements TrainingProvider, TrainingService {
+
+    private final TrainingRepository trainingRepository;
+
+    private final UserProvider userProvider;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CalorieProvider calorieProvider;
+
+    /**
+     * Creates a new training for the user referenced by the request.
+     *
+     * @param request the data of the training to create.
+     * @return the created Training entity.
+     * @throws UserNotFoundException if the referenced user does not exist.
+     * @throws BusinessException     if some of the training data is missing.
+     */
+    @Override
+    @Transactional
+    public Training createTraining(final TrainingRequestDto request) {
+        Training created = trainingRepository.save(toTraining(request));
+        eventPublisher.publishEvent(new TrainingChangedEvent(null, TrainingChangedEvent.Snapshot.of(created)));
+        log.info("Created Training with ID {}", created.getId());
+        return created;
+    }
+
+    /**
+     * Creates new trainings in a single transaction, inserted by JDBC batches.
+     * The creation is announced with a single event, so the derived data is updated once per user rather than once per training.
+     *
+     * @param requests the data of the trainings to create.
+     * @return the created Training entities, in the order of the requests.
+     * @throws UserNotFoundException if some of the referenced users does not exist.
+     * @throws BusinessException     if some of the training data is missing.
+     */
+    @Override
+    @Transactional
+    public List<Training> createTrainings(final List<TrainingRequestDto> requests) {
+        List<Training> created = trainingRepository.saveAll(requests.stream().map(this::toTraining).toList());
+        eventPublisher.publishEvent(TrainingChangedEvent.created(created));
+        log.info("Created {} Trainings", created.size());
+        return created;
+    }
+
+    private Training toTraining(final TrainingRequestDto request) {
+        if (request.userId() == null || request.startTime() == null || request.endTime() == null || request.activityType() == null) {
+            throw new BusinessException("Training requires userId, startTime, endTime and activityType");
+        }
+        User user = userProvider.getUser(request.userId())
+                .orElseThrow(() -> new UserNotFoundException(request.userId()));
+
+        Training training = new Training(user,
+                request.startTime(),
+                request.endTime(),
+                request.activityType(),
+                request.distance() == null ? 0 : request.distance(),
+                request.averageSpeed() == null ? 0 : request.averageSpeed());
+        training.setCaloriesBurned(calorieProvider.computeCalories(training));
+        return training;
+    }
+
+    /**
+     * Updates an existing training. Only the attributes provided in the request are changed.
+     *
+     * @param trainingId the id of the training to update.
+     * @param request    the data to update the training with.
+     * @return the updated Training entity.
+     * @throws TrainingNotFoundException if no training with the specified id is found.
+     * @throws UserNotFoundException     if the referenced user does not exist.
+     */
+    @Override
+    @Transactional
+    public Training updateTraining(final Long trainingId, final TrainingRequestDto request) {
+        Training training = trainingRepository.findWithUserById(trainingId)
+                .orElseThrow(() -> new TrainingNotFoundException(trainingId));
+        TrainingChangedEvent.Snapshot before = TrainingChangedEvent.Snapshot.of(training);
+
+        if (request.userId() != null && !request.userId().equals(training.getUser().getId())) {
+            training.setUser(userProvider.getUser(request.userId())
+                    .orElseThrow(() -> new UserNotFoundException(request.userId())));
+        }
+        if (request.startTime() != null) training.setStartTime(request.startTime());
+        if (request.endTime() != null) training.setEndTime(request.endTime());
+        if (request.activityType() != null) training.setActivityType(request.activityType());
+        if (request.distance() != null) training.setDistance(request.distance());
+        if (request.averageSpeed() != null) training.setAverageSpeed(request.averageSpeed());
+        training.setCaloriesBurned(calorieProvider.computeCalories(training));
+
+        eventPublisher.publishEvent(new TrainingChangedEvent(before, TrainingChangedEvent.Snapshot.of(training)));
+        log.info("Updated Training with ID {}", trainingId);
+        return training;
+    }
+
+    /**
+     * Deletes a training.
+     *
+     * @param trainingId the id of the training to delete.
+     * @throws TrainingNotFoundException if no training with the specified id is found.
+     */
+    @Override
+    @Transactional
+    public void deleteTraining(final Long trainingId) {
+        Training training = trainingRepository.findById(trainingId)
+                .orElseThrow(() -> new TrainingNotFoundException(trainingId));
+        trainingRepository.delete(training);
+        eventPublisher.publishEvent(new TrainingChangedEvent(TrainingChangedEvent.Snapshot.of(training), null));
+        log.info("Deleted Training with ID {}", trainingId);
+    }
+
+    @Override
+    public Optional<Training> getTraining(final Long trainingId) {
+        return trainingRepository.findWithUserById(trainingId);
+    }
+
+    @Override
+    public List<Training> findAllTrainings(@Nullable final Long afterId, final int limit) {
+        return trainingRepository.findPage(afterId == null ? 0 : afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<Training> findTrainingsByUser(final Long userId,
+                                              @Nullable final Date afterStartTime,
+                                              @Nullable final Long afterId,
+                                              final int limit) {
+        if (afterStartTime == null || afterId == null) {
+            return trainingRepository.findByUser(userId, Limit.of(limit));
+        }
+        return trainingRepository.findByUser(userId, afterStartTime, afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<Training> findTrainingsByActivityType(final ActivityType activityType,
+                                                      @Nullable final Date afterEndTime,
+                                                      @Nullable final Long afterId,
+                                                      final int limit) {
+        if (afterEndTime == null || afterId == null) {
+            return trainingRepository.findByActivityType(activityType, Limit.of(limit));
+        }
+        return trainingRepository.findByActivityType(activityType, afterEndTime, afterId, Limit.of(limit));
+    }
 
     @Override
-    public Optional<User> getTraining(final Long trainingId) {
-        throw new UnsupportedOperationException("Not finished yet");
+    public List<Training> findTrainingsFinishedAfter(final Date time,
+                                                     @Nullable final Date afterEndTime,
+                                                     @Nullable final Long afterId,
+                                                     final int limit) {
+        if (afterEndTime == null || afterId == null) {
+            return trainingRepository.findFinishedAfter(time, Limit.of(limit));
+        }
+        return trainingRepository.findFinishedAfter(time, afterEndTime, afterId, Limit.of(limit));
     }
 
 }
@@ -3,32 +3,54 @@ package com.capgemini.wsb.fitnesstracker.user.api;
 import jakarta.annotation.Nullable;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(name = "users",
+        uniqueConstraints = @UniqueConstraint(name = User.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"),
+        indexes = @Index(name = "idx_users_birthdate", columnList = "birthdate, id"))
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
 public class User {
 
+    /**
+     * Name of the database constraint guaranteeing that every email is used by at most one user.
+     */
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_users_email";
+
+    /**
+     * Maximum number of characters of the first and the last name.
+     */
+    public static final int NAME_MAX_LENGTH = 255;
+
+    /**
+     * Maximum number of characters of the email.
+     */
+    public static final int EMAIL_MAX_LENGTH = 255;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     @Nullable
     private Long id;
 
-    @Column(name = "first_name", nullable = false)
+    @Column(name = "first_name", nullable = false, length = NAME_MAX_LENGTH)
     private String firstName;
 
-    @Column(name = "last_name", nullable = false)
+    @Column(name = "last_name", nullable = false, length = NAME_MAX_LENGTH)
     private String lastName;
 
     @Column(name = "birthdate", nullable = false)
     private LocalDate birthdate;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false, length = EMAIL_MAX_LENGTH)
     private String email;
 
     public User(
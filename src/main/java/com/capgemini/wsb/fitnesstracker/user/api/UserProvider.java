@@ -1,5 +1,8 @@
 package com.capgemini.wsb.fitnesstracker.user.api;
 
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -8,6 +11,7 @@ public interface UserProvider {
     /**
      * Retrieves a user based on their ID.
      * If the user with given ID is not found, then {@link Optional#empty()} will be returned.
+     * The user may be served from a cache and shared with other callers, so it must not be modified.
      *
      * @param userId id of the user to be searched
      * @return An {@link Optional} containing the located user, or {@link Optional#empty()} if not found
@@ -17,6 +21,7 @@ public interface UserProvider {
     /**
      * Retrieves a user based on their email.
      * If the user with given email is not found, then {@link Optional#empty()} will be returned.
+     * The user may be served from a cache and shared with other callers, so it must not be modified.
      *
      * @param email The email of the user to be searched
      * @return An {@link Optional} containing the located user, or {@link Optional#empty()} if not found
@@ -30,4 +35,65 @@ public interface UserProvider {
      */
     List<User> findAllUsers();
 
+    /**
+     * Retrieves a page of users ordered by ID.
+     * Pagination is keyset based - the next page starts right after the last user of the previous one.
+     *
+     * @param afterId ID of the last user from the previous page, or {@code null} for the first page
+     * @param limit   maximum number of users to return
+     * @return users with ID greater than {@code afterId}, at most {@code limit} of them
+     */
+    List<User> findUsers(@Nullable Long afterId, int limit);
+
+    /**
+     * Retrieves basic information (ID, first name, last name) of a user based on their ID, without loading the whole user.
+     * If the user with given ID is not found, then {@link Optional#empty()} will be returned.
+     *
+     * @param userId id of the user to be searched
+     * @return An {@link Optional} containing the located user's basic information, or {@link Optional#empty()} if not found
+     */
+    Optional<SimpleUserDto> getSimpleUser(Long userId);
+
+    /**
+     * Retrieves a page of basic user information (ID, first name, last name) ordered by ID, without loading the whole users.
+     *
+     * @param afterId ID of the last user from the previous page, or {@code null} for the first page
+     * @param limit   maximum number of users to return
+     * @return basic information of users with ID greater than {@code afterId}, at most {@code limit} of them
+     */
+    List<SimpleUserDto> findSimpleUsers(@Nullable Long afterId, int limit);
+
+    /**
+     * Retrieves a page of user IDs and emails ordered by ID, without loading the whole users.
+     *
+     * @param afterId ID of the last user from the previous page, or {@code null} for the first page
+     * @param limit   maximum number of users to return
+     * @return IDs and emails of users with ID greater than {@code afterId}, at most {@code limit} of them
+     */
+    List<UserEmailDto> findUserEmails(@Nullable Long afterId, int limit);
+
+    /**
+     * Retrieves a page of users born before the given date, ordered by birthdate (oldest first) and ID.
+     * Pagination is keyset based - the next page starts right after the last user of the previous one,
+     * identified by its birthdate and ID.
+     *
+     * @param date           only users born before this date are returned
+     * @param afterBirthdate birthdate of the last user from the previous page, or {@code null} for the first page
+     * @param afterId        ID of the last user from the previous page, or {@code null} for the first page
+     * @param limit          maximum number of users to return
+     * @return users born before the given date, at most {@code limit} of them
+     */
+    List<User> findUsersOlderThan(LocalDate date, @Nullable LocalDate afterBirthdate, @Nullable Long afterId, int limit);
+
+    /**
+     * Searches users by a fragment of their email, ignoring the letter case.
+     * Exact matches are returned first, followed by the emails starting with the fragment and then the remaining ones.
+     *
+     * @param fragment part of the email to search for, at least 3 characters long
+     * @param limit    maximum number of users to return
+     * @return IDs and emails of the best matching users, at most {@code limit} of them
+     * @throws com.capgemini.wsb.fitnesstracker.exception.api.BusinessException if the fragment is shorter than 3 characters
+     */
+    List<UserEmailDto> searchUsersByEmail(String fragment, int limit);
+
 }
@@ -0,0 +1,310 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto;
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over the normalized (lower-cased) user emails, used for case-insensitive search by email fragment.
+ * <p>
+ * Every email is split into overlapping 3-character grams, and each gram keeps the set of user IDs containing it.
+ * A fragment lookup intersects the posting sets of the fragment's grams (starting from the smallest one),
+ * verifies the remaining candidates with {@link String#contains(CharSequence)} and keeps only the top-K matches.
+ * Fragments shorter than a gram cannot use the postings and are rejected, instead of scanning all the indexed emails.
+ * <p>
+ * The index is kept up to date by {@link UserEmailIndexListener} and loaded on startup by {@link UserServiceImpl},
+ * which has to serve the searches from the database until {@link #isLoaded()}.
+ * Changes made within a transaction are published to the shared index only after it commits - until then they are
+ * visible to the searches of the writing transaction alone, and are dropped if it rolls back.
+ */
+@Component
+class EmailSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    /**
+     * Minimum number of characters of a searched fragment - a single gram.
+     */
+    static final int MIN_FRAGMENT_LENGTH = GRAM_LENGTH;
+
+    /**
+     * Exact matches first, then prefix matches, then the rest; shorter emails before longer ones.
+     */
+    private static final Comparator<Match> RANKING = Comparator.comparingInt(Match::rank)
+            .thenComparingInt(match -> match.entry().normalized().length())
+            .thenComparingLong(Match::id);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private final Map<Long, Set<Long>> postings = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * Adds or replaces the email of the given user.
+     *
+     * @param userId id of the user
+     * @param email  current email of the user
+     * @return previous email of the user, or {@code null} if the user was not indexed
+     */
+    @Nullable
+    String put(Long userId, String email) {
+        Entry entry = new Entry(email, normalize(email));
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(userId, entry);
+            if (previous != null) {
+                if (previous.normalized().equals(entry.normalized())) {
+                    return previous.email();
+                }
+                unlink(userId, previous);
+            }
+            forEachGram(entry.normalized(), gram -> postings.computeIfAbsent(gram, key -> new HashSet<>()).add(userId));
+            return previous == null ? null : previous.email();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the given user from the index.
+     *
+     * @param userId id of the user
+     * @return email the user was indexed with, or {@code null} if the user was not indexed
+     */
+    @Nullable
+    String remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(userId);
+            if (previous == null) {
+                return null;
+            }
+            unlink(userId, previous);
+            return previous.email();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the email of the given user once the current transaction commits.
+     * Without a transaction the change is applied immediately.
+     *
+     * @param userId id of the user
+     * @param email  current email of the user
+     */
+    void putAfterCommit(Long userId, String email) {
+        stage(userId, new Entry(email, normalize(email)));
+    }
+
+    /**
+     * Removes the given user from the index once the current transaction commits.
+     * Without a transaction the change is applied immediately.
+     *
+     * @param userId id of the user
+     */
+    void removeAfterCommit(Long userId) {
+        stage(userId, null);
+    }
+
+    /**
+     * Indexes all the given users, e.g. the content of the database on application startup.
+     *
+     * @param users users to be indexed
+     */
+    void load(Stream<UserEmailDto> users) {
+        users.forEach(user -> put(user.id(), user.email()));
+        loaded = true;
+    }
+
+    /**
+     * Checks whether the index has been loaded, i.e. whether it contains all the users stored in the database.
+     *
+     * @return {@code true} once {@link #load(Stream)} has completed
+     */
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Normalizes the searched fragment the way the emails are indexed.
+     *
+     * @param fragment part of the email to search for
+     * @return the trimmed and lower-cased fragment
+     * @throws BusinessException if the fragment is shorter than {@link #MIN_FRAGMENT_LENGTH}
+     */
+    static String normalizeFragment(String fragment) {
+        String normalized = normalize(fragment);
+        if (normalized.length() < MIN_FRAGMENT_LENGTH) {
+            throw new BusinessException("Email fragment must have at least %d characters".formatted(MIN_FRAGMENT_LENGTH));
+        }
+        return normalized;
+    }
+
+    /**
+     * Searches users which email contains the given fragment, ignoring the letter case.
+     * Includes the changes not yet committed by the current transaction.
+     *
+     * @param fragment part of the email to search for
+     * @param limit    maximum number of matches to return
+     * @return best matches, ordered by relevance
+     * @throws BusinessException if the fragment is shorter than {@link #MIN_FRAGMENT_LENGTH}
+     */
+    List<UserEmailDto> search(String fragment, int limit) {
+        String normalized = normalizeFragment(fragment);
+
+        Map<Long, Entry> pending = pendingChanges();
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, RANKING.reversed());
+        lock.readLock().lock();
+        try {
+            for (Long userId : candidates(normalized)) {
+                if (!pending.containsKey(userId)) {
+                    offer(best, limit, userId, entries.get(userId), normalized);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        pending.forEach((userId, entry) -> offer(best, limit, userId, entry, normalized));
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(RANKING);
+        return matches.stream()
+                .map(match -> new UserEmailDto(match.id(), match.entry().email()))
+                .toList();
+    }
+
+    private static void offer(PriorityQueue<Match> best, int limit, Long userId, @Nullable Entry entry, String fragment) {
+        if (entry == null || !entry.normalized().contains(fragment)) {
+            return;
+        }
+        best.add(new Match(userId, entry, rank(entry.normalized(), fragment)));
+        if (best.size() > limit) {
+            best.poll();
+        }
+    }
+
+    /**
+     * Keeps the latest state of every user changed within the current transaction, a {@code null} entry for a removed user,
+     * to be applied to the index on commit.
+     */
+    private void stage(Long userId, @Nullable Entry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(userId, entry);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Long, Entry> changes = (Map<Long, Entry>) TransactionSynchronizationManager.getResource(this);
+        if (changes == null) {
+            Map<Long, Entry> staged = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, staged);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    staged.forEach(EmailSearchIndex.this::apply);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EmailSearchIndex.this);
+                }
+            });
+            changes = staged;
+        }
+        changes.put(userId, entry);
+    }
+
+    private void apply(Long userId, @Nullable Entry entry) {
+        if (entry == null) {
+            remove(userId);
+        } else {
+            put(userId, entry.email());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Entry> pendingChanges() {
+        Map<Long, Entry> changes = (Map<Long, Entry>) TransactionSynchronizationManager.getResource(this);
+        return changes == null ? Map.of() : changes;
+    }
+
+    /**
+     * Has to be called with the read lock held.
+     */
+    private Collection<Long> candidates(String fragment) {
+        List<Set<Long>> sets = new ArrayList<>();
+        boolean[] missing = {false};
+        forEachGram(fragment, gram -> {
+            Set<Long> posting = postings.get(gram);
+            if (posting == null) {
+                missing[0] = true;
+            } else {
+                sets.add(posting);
+            }
+        });
+        if (missing[0]) {
+            return List.of();
+        }
+
+        sets.sort(Comparator.comparingInt(Set::size));
+        Set<Long> smallest = sets.get(0);
+        List<Set<Long>> others = sets.subList(1, sets.size());
+        return smallest.stream()
+                .filter(userId -> others.stream().allMatch(set -> set.contains(userId)))
+                .toList();
+    }
+
+    private void unlink(Long userId, Entry entry) {
+        forEachGram(entry.normalized(), gram -> {
+            Set<Long> posting = postings.get(gram);
+            if (posting != null && posting.remove(userId) && posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    private static int rank(String email, String fragment) {
+        if (email.equals(fragment)) {
+            return 0;
+        }
+        return email.startsWith(fragment) ? 1 : 2;
+    }
+
+    private static void forEachGram(String text, GramConsumer consumer) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            consumer.accept(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    @FunctionalInterface
+    private interface GramConsumer {
+
+        void accept(long gram);
+
+    }
+
+    private record Entry(String email, String normalized) {
+
+    }
+
+    private record Match(Long id, Entry entry, int rank) {
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Read-through caches of the user lookups by ID and by email, served by {@link UserServiceImpl}.
+ * The caches are transaction aware - entries read or evicted within a transaction are put or evicted only once it commits,
+ * so a rolled back change never reaches the caches. Hit, miss and eviction metrics are published to the actuator.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(UserCacheProperties.class)
+class UserCacheConfig {
+
+    static final String USERS_BY_ID = "usersById";
+
+    static final String USERS_BY_EMAIL = "usersByEmail";
+
+    @Bean
+    CacheManager cacheManager(UserCacheProperties properties) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(USERS_BY_ID, USERS_BY_EMAIL);
+        cacheManager.setCacheSpecification(properties.getSpec());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+}
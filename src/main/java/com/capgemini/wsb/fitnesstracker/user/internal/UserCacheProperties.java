@@ -0,0 +1,24 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the user lookup caches.
+ */
+@ConfigurationProperties(prefix = "user.cache")
+@Getter
+class UserCacheProperties {
+
+    /**
+     * Caffeine specification of the caches, bounding their size and the time the entries live.
+     * Statistics have to be recorded for the hit rate and eviction metrics.
+     */
+    private final String spec;
+
+    UserCacheProperties(@DefaultValue("maximumSize=10000,expireAfterWrite=10m,recordStats") String spec) {
+        this.spec = spec;
+    }
+
+}
@@ -1,15 +1,23 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.pagination.api.Pagination;
 import com.capgemini.wsb.fitnesstracker.user.api.*;
 import com.capgemini.wsb.fitnesstracker.user.api.UserDto;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * REST controller for managing users.
@@ -24,67 +32,136 @@ class UserController {
 
     private final UserMapper userMapper;
     private final UserRepository userRepository;
+    private final UserExportWriter userExportWriter;
+    private final UserImporter userImporter;
 
     /**
-     * Retrieves all users in the system.
+     * Retrieves a page of users in the system, ordered by id.
+     * The next page is linked in the {@code Link} response header.
      *
-     * @return a list of UserDto representing all users.
+     * @param afterId id of the last user from the previous page (optional).
+     * @param limit   maximum number of users to return (optional).
+     * @return a list of UserDto representing the users.
      */
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.findAllUsers()
+    public ResponseEntity<List<UserDto>> getAllUsers(@RequestParam(required = false) Long afterId,
+                                                     @RequestParam(required = false) Integer limit) {
+        int pageSize = Pagination.limit(limit);
+        List<UserDto> users = userService.findUsers(afterId, pageSize)
                 .stream()
                 .map(userMapper::toDto)
                 .toList();
+        return Pagination.page(users, pageSize, user -> Map.of("afterId", user.id()));
     }
 
     /**
-     * Retrieves simplified user data ((id, first name, last name).
+     * Streams all users in the system, ordered by id, as a JSON array or as NDJSON if requested with {@code Accept: application/x-ndjson}.
      *
-     * @return a list of SimpleUserDto representing all users with simplified data.
+     * @param headers request headers, the Accept header selects the output format.
+     * @return a response writing UserDto of every user as they are read from the database.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllUsers(@RequestHeader HttpHeaders headers) {
+        return userExportWriter.export(headers.getAccept(), userRepository::streamAll, userMapper::toDto);
+    }
+
+    /**
+     * Retrieves a page of simplified user data (id, first name, last name), ordered by id.
+     * The next page is linked in the {@code Link} response header.
+     *
+     * @param afterId id of the last user from the previous page (optional).
+     * @param limit   maximum number of users to return (optional).
+     * @return a list of SimpleUserDto representing the users with simplified data.
      */
     @GetMapping("/simple")
-    public List<SimpleUserDto> getSimpleUsers() {
-        return userService.findAllUsers()
-                .stream()
-                .map(userMapper::toSimpleDto)
-                .toList();
+    public ResponseEntity<List<SimpleUserDto>> getSimpleUsers(@RequestParam(required = false) Long afterId,
+                                                              @RequestParam(required = false) Integer limit) {
+        int pageSize = Pagination.limit(limit);
+        List<SimpleUserDto> users = userService.findSimpleUsers(afterId, pageSize);
+        return Pagination.page(users, pageSize, user -> Map.of("afterId", user.id()));
     }
 
     /**
-     * Retrieves user by email. If no email is provided, returns all users.
+     * Streams simplified data of all users, ordered by id, as a JSON array or as NDJSON if requested with {@code Accept: application/x-ndjson}.
      *
-     * @param email the email of the user to search for (optional).
-     * @return a list of UserEmailDto representing user matching the provided email or all users if no email is specified.
+     * @param headers request headers, the Accept header selects the output format.
+     * @return a response writing SimpleUserDto of every user as they are read from the database.
+     */
+    @GetMapping(path = "/simple", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamSimpleUsers(@RequestHeader HttpHeaders headers) {
+        return userExportWriter.export(headers.getAccept(), userRepository::streamAllSimple, Function.identity());
+    }
+
+    /**
+     * Searches users by a fragment of their email, ignoring the letter case.
+     * If no email is provided, returns a page of all users ordered by id, with the next page linked in the {@code Link} response header.
+     *
+     * @param email   part of the email of the users to search for (optional).
+     * @param afterId id of the last user from the previous page, when listing all users (optional).
+     * @param limit   maximum number of users to return (optional).
+     * @return a list of UserEmailDto representing the best matching users or all users if no email is specified.
      */
     @GetMapping("/email")
-    public List<UserEmailDto> getUsersByEmail(@RequestParam(required = false) String email) {
+    public ResponseEntity<List<UserEmailDto>> getUsersByEmail(@RequestParam(required = false) String email,
+                                                              @RequestParam(required = false) Long afterId,
+                                                              @RequestParam(required = false) Integer limit) {
+        int pageSize = Pagination.limit(limit);
         if (email != null && !email.isEmpty()) {
-            Optional<User> optionalUser = userService.getUserByEmail(email);
-            return optionalUser
-                    .map(user -> List.of(userMapper.toUserEmailDto(user)))
-                    .orElseGet(List::of);
+            return ResponseEntity.ok(userService.searchUsersByEmail(email, pageSize));
         }
-        return userService.findAllUsers()
-                .stream()
-                .map(userMapper::toUserEmailDto)
-                .toList();
+        List<UserEmailDto> users = userService.findUserEmails(afterId, pageSize);
+        return Pagination.page(users, pageSize, user -> Map.of("afterId", user.id()));
     }
 
     /**
-     * Retrieves users who are older than the specified date.
+     * Streams ids and emails of all users, ordered by id, as a JSON array or as NDJSON if requested with {@code Accept: application/x-ndjson}.
      *
-     * @param time the date to compare against in String format (YYYY-MM-DD).
+     * @param headers request headers, the Accept header selects the output format.
+     * @return a response writing UserEmailDto of every user as they are read from the database.
+     */
+    @GetMapping(path = "/email", params = {"stream=true", "!email"})
+    public ResponseEntity<StreamingResponseBody> streamUserEmails(@RequestHeader HttpHeaders headers) {
+        return userExportWriter.export(headers.getAccept(), userRepository::streamAllEmails, Function.identity());
+    }
+
+    /**
+     * Retrieves a page of users who are older than the specified date, ordered by birthdate.
+     * The next page is linked in the {@code Link} response header.
+     *
+     * @param time           the date to compare against in String format (YYYY-MM-DD).
+     * @param afterBirthdate birthdate of the last user from the previous page (optional).
+     * @param afterId        id of the last user from the previous page (optional).
+     * @param limit          maximum number of users to return (optional).
      * @return a list of UserDto representing users older than the specified date.
      */
     @GetMapping("/older/{time}")
-    public List<UserDto> getUserByDate(@PathVariable String time) {
+    public ResponseEntity<List<UserDto>> getUserByDate(@PathVariable String time,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate afterBirthdate,
+                                                       @RequestParam(required = false) Long afterId,
+                                                       @RequestParam(required = false) Integer limit) {
         LocalDate date = LocalDate.parse(time);
-        return userService.findAllUsers()
+        int pageSize = Pagination.limit(limit);
+        List<UserDto> users = userService.findUsersOlderThan(date, afterBirthdate, afterId, pageSize)
                 .stream()
-                .filter(user -> user.getBirthdate().isBefore(date))
                 .map(userMapper::toDto)
                 .toList();
+        return Pagination.page(users, pageSize, user -> Map.of(
+                "afterBirthdate", user.birthdate(),
+                "afterId", user.id()));
+    }
+
+    /**
+     * Streams all users who are older than the specified date, ordered by birthdate, as a JSON array or as NDJSON
+     * if requested with {@code Accept: application/x-ndjson}.
+     *
+     * @param time    the date to compare against in String format (YYYY-MM-DD).
+     * @param headers request headers, the Accept header selects the output format.
+     * @return a response writing UserDto of every matching user as they are read from the database.
+     */
+    @GetMapping(path = "/older/{time}", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamUsersOlderThan(@PathVariable String time, @RequestHeader HttpHeaders headers) {
+        LocalDate date = LocalDate.parse(time);
+        return userExportWriter.export(headers.getAccept(), () -> userRepository.streamOlderThan(date), userMapper::toDto);
     }
 
     /**
@@ -110,8 +187,7 @@ class UserController {
      */
     @GetMapping("/simple/{id}")
     public SimpleUserDto getSimpleUser(@PathVariable Long id) {
-        return userService.getUser(id)
-                .map(userMapper::toSimpleDto)
+        return userService.getSimpleUser(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
     }
 
@@ -121,13 +197,10 @@ class UserController {
      * @param id the id of the user to update.
      * @param userDto the data of the user to update.
      * @return the updated UserDto representing the user.
-     * @throws DuplicateEmailException if the email provided is already in use.
+     * @throws DuplicateEmailException if the email provided is already in use by another user.
      */
     @PutMapping("/{id}")
     public UserDto updateUser(@PathVariable Long id, @RequestBody UserDto userDto) {
-        if (userService.getUserByEmail(userDto.email()).isPresent()) {
-            throw new DuplicateEmailException(userDto.email());
-        }
         User updatedUser = userService.updateUser(id, userDto);
         return userMapper.toDto(updatedUser);
     }
@@ -149,19 +222,30 @@ class UserController {
      * @param userDto the data of the new user to create.
      * @return the created UserDto representing the new user.
      * @throws InterruptedException if the operation is interrupted.
-     * @throws DuplicateEmailException if the email provided is already in use.
+     * @throws DuplicateEmailException if the email provided is already in use by another user.
      */
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserDto addUser(@RequestBody UserDto userDto) throws InterruptedException {
-        if (userService.getUserByEmail(userDto.email()).isPresent()) {
-            throw new DuplicateEmailException(userDto.email());
-        }
         User user = userMapper.toEntity(userDto);
         User createdUser = userService.createUser(user);
         return userMapper.toDto(createdUser);
     }
 
+    /**
+     * Imports users in bulk from an NDJSON (one UserDto per line) or CSV (header line naming the
+     * firstName, lastName, birthdate and email columns) upload.
+     *
+     * @param headers request headers, the Content-Type header selects the input format.
+     * @param content the uploaded file.
+     * @return the report listing the number of imported users and the rejected records.
+     * @throws IOException if the upload could not be read.
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public UserImportReport importUsers(@RequestHeader HttpHeaders headers, InputStream content) throws IOException {
+        return userImporter.importUsers(headers.getContentType(), content);
+    }
+
     /**
      * Handles UserNotFoundException by returning a 409 Conflict response.
      *
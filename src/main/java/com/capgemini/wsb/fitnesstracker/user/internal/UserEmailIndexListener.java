@@ -0,0 +1,27 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+
+/**
+ * JPA entity listener keeping the {@link EmailSearchIndex} in sync with the {@link User} writes.
+ * Changes are staged as soon as they are flushed and published to the index when the surrounding transaction commits.
+ * Registered for the {@link User} entity by {@code META-INF/orm.xml}, so the entity does not depend on this package,
+ * and instantiated by Hibernate through the Spring bean container.
+ */
+class UserEmailIndexListener {
+
+    private final EmailSearchIndex emailSearchIndex;
+
+    UserEmailIndexListener(EmailSearchIndex emailSearchIndex) {
+        this.emailSearchIndex = emailSearchIndex;
+    }
+
+    void onSave(User user) {
+        emailSearchIndex.putAfterCommit(user.getId(), user.getEmail());
+    }
+
+    void onRemove(User user) {
+        emailSearchIndex.removeAfterCommit(user.getId());
+    }
+
+}
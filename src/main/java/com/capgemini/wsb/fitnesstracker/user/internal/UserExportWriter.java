@@ -0,0 +1,90 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole result of a streaming query to the HTTP response, element by element, as a JSON array or as NDJSON
+ * (one JSON document per line). The rows are serialized as they are fetched from the database, so the heap usage does not
+ * depend on the number of exported rows and the first bytes are sent before the query is exhausted.
+ */
+@Component
+@RequiredArgsConstructor
+class UserExportWriter {
+
+    /**
+     * Number of rows after which the persistence context is cleared and the written data flushed to the client.
+     * The first row is flushed immediately.
+     */
+    private static final int CHUNK_SIZE = 1000;
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Prepares a streaming response with the given rows.
+     *
+     * @param accepted media types accepted by the client - {@link MediaType#APPLICATION_NDJSON} selects NDJSON, anything else a JSON array
+     * @param rows     query opening the stream of rows, invoked within a read-only transaction when the response is written
+     * @param toDto    mapping of a row to the serialized DTO
+     * @param <T>      type of the row
+     * @return response writing the rows when the body is being sent
+     */
+    <T> ResponseEntity<StreamingResponseBody> export(List<MediaType> accepted, Supplier<Stream<T>> rows, Function<T, ?> toDto) {
+        boolean ndjson = accepted.stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        StreamingResponseBody body = output -> write(output, ndjson, rows, toDto);
+        return ResponseEntity.ok()
+                .contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    private <T> void write(OutputStream output, boolean ndjson, Supplier<Stream<T>> rows, Function<T, ?> toDto) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.executeWithoutResult(status -> {
+            try (Stream<T> stream = rows.get();
+                 SequenceWriter writer = open(output, ndjson)) {
+                int written = 0;
+                for (Iterator<T> iterator = stream.iterator(); iterator.hasNext(); ) {
+                    writer.write(toDto.apply(iterator.next()));
+                    if (++written == 1 || written % CHUNK_SIZE == 0) {
+                        entityManager.clear();
+                        writer.flush();
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private SequenceWriter open(OutputStream output, boolean ndjson) throws IOException {
+        if (ndjson) {
+            return objectMapper.writer()
+                    .withRootValueSeparator("\n")
+                    .writeValues(output);
+        }
+        return objectMapper.writer().writeValuesAsArray(output);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import java.util.List;
+
+/**
+ * Result of a bulk user import.
+ *
+ * @param received number of records found in the uploaded file
+ * @param imported number of users created
+ * @param failed   number of rejected records
+ * @param errors   reasons of the rejections, limited to the first {@link UserImporter#MAX_REPORTED_ERRORS} records
+ */
+record UserImportReport(long received, long imported, long failed, List<UserImportError> errors) {
+
+    /**
+     * Rejection of a single record of the uploaded file.
+     *
+     * @param line    line number of the record in the uploaded file
+     * @param message reason of the rejection
+     */
+    record UserImportError(long line, String message) {
+
+    }
+
+}
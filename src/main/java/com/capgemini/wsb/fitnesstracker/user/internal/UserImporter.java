@@ -0,0 +1,322 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserDto;
+import com.capgemini.wsb.fitnesstracker.user.internal.UserImportReport.UserImportError;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk import of users from NDJSON or CSV uploads.
+ * <p>
+ * The upload is read in chunks of {@link #CHUNK_SIZE} records. Records of a chunk are parsed and validated in parallel,
+ * checked against the emails already used (one query per chunk) and inserted in a single transaction,
+ * which Hibernate sends as JDBC batches (sequence generated IDs, {@code hibernate.jdbc.batch_size}).
+ * If the insert fails on a constraint violation, such as a concurrent email conflict, the chunk is retried record by record,
+ * so that only the violating records are rejected and the import goes on.
+ */
+@Component
+@Slf4j
+class UserImporter {
+
+    static final MediaType TEXT_CSV = MediaType.valueOf("text/csv");
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final int CHUNK_SIZE = 1000;
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+
+    private static final List<String> CSV_COLUMNS = List.of("firstName", "lastName", "birthdate", "email");
+
+    private final ObjectMapper objectMapper;
+
+    private final EntityManager entityManager;
+
+    private final UserRepository userRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    UserImporter(ObjectMapper objectMapper,
+                 EntityManager entityManager,
+                 UserRepository userRepository,
+                 PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Imports users from the uploaded file.
+     *
+     * @param contentType format of the file - {@link MediaType#APPLICATION_NDJSON} with one {@link UserDto} per line,
+     *                    or {@link #TEXT_CSV} with a header line naming the {@code firstName,lastName,birthdate,email} columns
+     * @param content     content of the uploaded file
+     * @return report on the imported and rejected records
+     * @throws IOException       if the upload could not be read
+     * @throws BusinessException if the CSV header does not name the required columns
+     */
+    UserImportReport importUsers(MediaType contentType, InputStream content) throws IOException {
+        boolean csv = TEXT_CSV.equalsTypeAndSubtype(contentType);
+        Import progress = new Import();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(content, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            Map<String, Integer> columns = null;
+            List<RawRecord> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (csv && columns == null) {
+                    columns = csvHeader(line);
+                    continue;
+                }
+                chunk.add(new RawRecord(lineNumber, line));
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, columns, progress);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, columns, progress);
+        }
+
+        log.info("Imported {} of {} users, {} rejected", progress.imported, progress.received, progress.failed);
+        progress.errors.sort(Comparator.comparingLong(UserImportError::line));
+        return new UserImportReport(progress.received, progress.imported, progress.failed, List.copyOf(progress.errors));
+    }
+
+    private void importChunk(List<RawRecord> chunk, @Nullable Map<String, Integer> csvColumns, Import progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        progress.received += chunk.size();
+
+        List<ParsedRecord> parsed = chunk.parallelStream()
+                .map(raw -> parse(raw, csvColumns))
+                .toList();
+
+        List<ParsedRecord> valid = new ArrayList<>(parsed.size());
+        for (ParsedRecord record : parsed) {
+            if (record.error() != null) {
+                progress.reject(record.line(), record.error());
+            } else if (!progress.emails.add(record.user().getEmail())) {
+                progress.reject(record.line(), "Email %s is duplicated in the file".formatted(record.user().getEmail()));
+            } else {
+                valid.add(record);
+            }
+        }
+
+        Set<String> existing = userRepository.findExistingEmails(valid.stream().map(record -> record.user().getEmail()).toList());
+        List<ParsedRecord> toInsert = new ArrayList<>(valid.size());
+        for (ParsedRecord record : valid) {
+            if (existing.contains(record.user().getEmail())) {
+                progress.reject(record.line(), "Email %s is already in use".formatted(record.user().getEmail()));
+            } else {
+                toInsert.add(record);
+            }
+        }
+
+        try {
+            insert(toInsert);
+            progress.imported += toInsert.size();
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Batch insert of {} users failed, retrying one by one", toInsert.size());
+            for (ParsedRecord record : toInsert) {
+                try {
+                    insert(List.of(record.copy()));
+                    progress.imported++;
+                } catch (DataIntegrityViolationException violation) {
+                    if (UserServiceImpl.isEmailConflict(violation)) {
+                        progress.reject(record.line(), "Email %s is already in use".formatted(record.user().getEmail()));
+                    } else {
+                        log.warn("Rejected imported user on line {}: {}", record.line(), violation.getMostSpecificCause().getMessage());
+                        progress.reject(record.line(), "User could not be stored");
+                    }
+                }
+            }
+        }
+    }
+
+    private void insert(List<ParsedRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            records.forEach(record -> entityManager.persist(record.user()));
+            userRepository.flush(); // through the repository, so that a conflict is translated to DataIntegrityViolationException
+            entityManager.clear();
+        });
+    }
+
+    private ParsedRecord parse(RawRecord raw, @Nullable Map<String, Integer> csvColumns) {
+        UserDto user;
+        try {
+            user = csvColumns == null ? objectMapper.readValue(raw.content(), UserDto.class) : parseCsv(raw.content(), csvColumns);
+        } catch (JsonProcessingException | DateTimeParseException | IllegalArgumentException e) {
+            return ParsedRecord.failed(raw.line(), "Malformed record: " + Objects.toString(e.getMessage(), e.getClass().getSimpleName()).lines().findFirst().orElse(""));
+        }
+
+        String error = validate(user);
+        if (error != null) {
+            return ParsedRecord.failed(raw.line(), error);
+        }
+        return new ParsedRecord(raw.line(),
+                new User(user.firstName().trim(), user.lastName().trim(), user.birthdate(), user.email().trim()),
+                null);
+    }
+
+    @Nullable
+    private static String validate(UserDto user) {
+        if (user.id() != null) {
+            return "User ID must not be provided";
+        }
+        if (user.firstName() == null || user.firstName().isBlank()) {
+            return "First name is required";
+        }
+        if (user.firstName().trim().length() > User.NAME_MAX_LENGTH) {
+            return "First name is longer than %d characters".formatted(User.NAME_MAX_LENGTH);
+        }
+        if (user.lastName() == null || user.lastName().isBlank()) {
+            return "Last name is required";
+        }
+        if (user.lastName().trim().length() > User.NAME_MAX_LENGTH) {
+            return "Last name is longer than %d characters".formatted(User.NAME_MAX_LENGTH);
+        }
+        if (user.birthdate() == null) {
+            return "Birthdate is required";
+        }
+        if (!user.birthdate().isBefore(LocalDate.now())) {
+            return "Birthdate %s is not in the past".formatted(user.birthdate());
+        }
+        if (user.email() == null || !EMAIL.matcher(user.email().trim()).matches()) {
+            return "Email %s is not valid".formatted(user.email());
+        }
+        if (user.email().trim().length() > User.EMAIL_MAX_LENGTH) {
+            return "Email is longer than %d characters".formatted(User.EMAIL_MAX_LENGTH);
+        }
+        return null;
+    }
+
+    private static Map<String, Integer> csvHeader(String line) {
+        List<String> header = splitCsv(line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (String column : CSV_COLUMNS) {
+            int index = header.indexOf(column);
+            if (index < 0) {
+                throw new BusinessException("CSV header must contain the %s columns".formatted(CSV_COLUMNS));
+            }
+            columns.put(column, index);
+        }
+        return columns;
+    }
+
+    private static UserDto parseCsv(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsv(line);
+        if (values.size() <= Collections.max(columns.values())) {
+            throw new IllegalArgumentException("expected %s columns, found %s".formatted(CSV_COLUMNS.size(), values.size()));
+        }
+        String birthdate = values.get(columns.get("birthdate"));
+        return new UserDto(null,
+                values.get(columns.get("firstName")),
+                values.get(columns.get("lastName")),
+                birthdate.isBlank() ? null : LocalDate.parse(birthdate.trim()),
+                values.get(columns.get("email")));
+    }
+
+    /**
+     * Splits a CSV line into values. Values may be enclosed in double quotes, with quotes escaped by doubling them.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    private record RawRecord(long line, String content) {
+
+    }
+
+    private record ParsedRecord(long line, @Nullable User user, @Nullable String error) {
+
+        static ParsedRecord failed(long line, String error) {
+            return new ParsedRecord(line, null, error);
+        }
+
+        /**
+         * Fresh entity for a retry, as the failed persist already assigned an ID to the original one.
+         */
+        ParsedRecord copy() {
+            return new ParsedRecord(line, new User(user.getFirstName(), user.getLastName(), user.getBirthdate(), user.getEmail()), null);
+        }
+
+    }
+
+    /**
+     * Progress of a single import.
+     */
+    private static final class Import {
+
+        private final Set<String> emails = new HashSet<>();
+
+        private final List<UserImportError> errors = new ArrayList<>();
+
+        private long received;
+
+        private long imported;
+
+        private long failed;
+
+        private void reject(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportError(line, message));
+            }
+        }
+
+    }
+
+}
@@ -1,12 +1,25 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.user.api.SimpleUserDto;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 interface UserRepository extends JpaRepository<User, Long> {
@@ -20,4 +33,143 @@ interface UserRepository extends JpaRepository<User, Long> {
     @Query("SELECT u FROM User u WHERE u.email = :email")
     Optional<User> findByEmail(@Param("email") String email);
 
+    /**
+     * Query searching which of the given emails are already used by some user.
+     *
+     * @param emails emails to check
+     * @return subset of the given emails which are already in use
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    /**
+     * Query searching a page of users, starting right after the given ID.
+     *
+     * @param afterId ID of the last user from the previous page, {@code 0} for the first page
+     * @param limit   maximum number of users to return
+     * @return users ordered by ID
+     */
+    @Query("SELECT u FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<User> findPage(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Query streaming all users ordered by ID. The entities are loaded read-only and fetched from the database in chunks.
+     * Has to be consumed within a transaction.
+     *
+     * @return {@link Stream} of all users
+     */
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<User> streamAll();
+
+    /**
+     * Query searching the first page of users born before the given date.
+     * Range scan on the {@code idx_users_birthdate} index, already in the requested order.
+     *
+     * @param date  users born before this date are returned
+     * @param limit maximum number of users to return
+     * @return users ordered by birthdate and ID
+     */
+    @Query("SELECT u FROM User u WHERE u.birthdate < :date ORDER BY u.birthdate, u.id")
+    List<User> findOlderThan(@Param("date") LocalDate date, Limit limit);
+
+    /**
+     * Query searching the next page of users born before the given date, starting right after the given keyset.
+     *
+     * @param date           users born before this date are returned
+     * @param afterBirthdate birthdate of the last user from the previous page
+     * @param afterId        ID of the last user from the previous page
+     * @param limit          maximum number of users to return
+     * @return users ordered by birthdate and ID
+     */
+    @Query("""
+            SELECT u FROM User u
+            WHERE u.birthdate < :date
+              AND (u.birthdate > :afterBirthdate OR (u.birthdate = :afterBirthdate AND u.id > :afterId))
+            ORDER BY u.birthdate, u.id""")
+    List<User> findOlderThan(@Param("date") LocalDate date,
+                             @Param("afterBirthdate") LocalDate afterBirthdate,
+                             @Param("afterId") Long afterId,
+                             Limit limit);
+
+    /**
+     * Query streaming all users born before the given date, ordered by birthdate and ID - a single range scan
+     * on the {@code idx_users_birthdate} index. The entities are loaded read-only and fetched from the database in chunks.
+     * Has to be consumed within a transaction.
+     *
+     * @param date users born before this date are returned
+     * @return {@link Stream} of the users
+     */
+    @Query("SELECT u FROM User u WHERE u.birthdate < :date ORDER BY u.birthdate, u.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<User> streamOlderThan(@Param("date") LocalDate date);
+
+    /**
+     * Query searching basic information of a user by ID. Reads only the required columns, without loading the user entity.
+     *
+     * @param id ID of the user to search
+     * @return {@link Optional} containing found user information or {@link Optional#empty()} if none matched
+     */
+    @Query("SELECT new com.capgemini.wsb.fitnesstracker.user.api.SimpleUserDto(u.id, u.firstName, u.lastName) FROM User u WHERE u.id = :id")
+    Optional<SimpleUserDto> findSimpleById(@Param("id") Long id);
+
+    /**
+     * Query searching a page of basic user information, starting right after the given ID.
+     * Reads only the required columns, without loading the user entities.
+     *
+     * @param afterId ID of the last user from the previous page, {@code 0} for the first page
+     * @param limit   maximum number of users to return
+     * @return basic user information ordered by ID
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.user.api.SimpleUserDto(u.id, u.firstName, u.lastName)
+            FROM User u WHERE u.id > :afterId ORDER BY u.id""")
+    List<SimpleUserDto> findSimplePage(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Query streaming basic information of all users ordered by ID, without loading the user entities.
+     * Has to be consumed within a transaction.
+     *
+     * @return {@link Stream} of basic information of all users
+     */
+    @Query("SELECT new com.capgemini.wsb.fitnesstracker.user.api.SimpleUserDto(u.id, u.firstName, u.lastName) FROM User u ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<SimpleUserDto> streamAllSimple();
+
+    /**
+     * Query searching a page of user IDs and emails, starting right after the given ID.
+     * Reads only the required columns, without loading the user entities.
+     *
+     * @param afterId ID of the last user from the previous page, {@code 0} for the first page
+     * @param limit   maximum number of users to return
+     * @return user IDs and emails ordered by ID
+     */
+    @Query("SELECT new com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto(u.id, u.email) FROM User u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserEmailDto> findEmailPage(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Query searching IDs and emails of the users which lower-cased email contains the given fragment, ranked the same way
+     * as by the {@link EmailSearchIndex}. Has to scan the whole table, meant only as a fallback of the index.
+     *
+     * @param fragment lower-case part of the email to search for
+     * @param limit    maximum number of users to return
+     * @return a list of the best matching users' IDs and emails
+     */
+    @Query("""
+            SELECT new com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto(u.id, u.email) FROM User u
+            WHERE LOCATE(:fragment, LOWER(u.email)) > 0
+            ORDER BY CASE WHEN LOWER(u.email) = :fragment THEN 0 WHEN LOCATE(:fragment, LOWER(u.email)) = 1 THEN 1 ELSE 2 END,
+                     LENGTH(u.email), u.id""")
+    List<UserEmailDto> searchEmails(@Param("fragment") String fragment, Limit limit);
+
+    /**
+     * Query streaming IDs and emails of all users ordered by ID, without loading the user entities.
+     * Has to be consumed within a transaction.
+     *
+     * @return {@link Stream} of all user emails
+     */
+    @Query("SELECT new com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto(u.id, u.email) FROM User u ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserEmailDto> streamAllEmails();
+
 }
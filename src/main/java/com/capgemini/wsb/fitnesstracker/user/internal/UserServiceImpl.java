@@ -1,13 +1,28 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
 import com.capgemini.wsb.fitnesstracker.user.api.*;
 import com.capgemini.wsb.fitnesstracker.user.api.UserDto;
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for CRUD operations.
@@ -18,64 +33,95 @@ import java.util.Optional;
 @Slf4j
 class UserServiceImpl implements UserService, UserProvider {
 
+    /**
+     * Name of the violated email constraint. H2 reports the backing unique index, optionally quoted and qualified
+     * by the schema and followed by its definition, e.g. {@code "PUBLIC.UK_USERS_EMAIL_INDEX_4 ON PUBLIC.USERS(EMAIL NULLS FIRST) VALUES ..."}.
+     */
+    private static final Pattern EMAIL_CONSTRAINT_NAME =
+            Pattern.compile("\\W*(\\w+\\.)?" + User.EMAIL_UNIQUE_CONSTRAINT + "(_INDEX_\\d+)?\\b", Pattern.CASE_INSENSITIVE);
+
     private final UserRepository userRepository;
 
+    private final EmailSearchIndex emailSearchIndex;
+
+    private final CacheManager cacheManager;
+
     /**
      * Creates a new user in the system.
+     * The email uniqueness is guaranteed by the database constraint, checked by the single insert statement.
      *
      * @param user the User entity to be created.
      * @return the created User entity.
      * @throws IllegalArgumentException if the User with this id already exists in the database.
+     * @throws DuplicateEmailException  if the email is already used by another user.
      */
     @Override
     public User createUser(final User user) {
-        log.info("Creating User {}", user);
         if (user.getId() != null) {
             throw new IllegalArgumentException("User has already DB ID, update is not permitted!");
         }
 
-        return userRepository.save(user);
+        try {
+            User created = userRepository.saveAndFlush(user);
+            log.info("Created User with ID {}", created.getId());
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(e, user.getEmail());
+        }
     }
 
     /**
      * Updates an existing user in the system.
+     * The email uniqueness is guaranteed by the database constraint, so the user may keep their own email.
      *
      * @param userId  the ID of the user to be updated.
      * @param userDto the data to update the user with.
      * @return the updated User entity.
-     * @throws UserNotFoundException if no user with the specified id is found.
+     * @throws UserNotFoundException   if no user with the specified id is found.
+     * @throws DuplicateEmailException if the email is already used by another user.
      */
     @Override
     public User updateUser(final Long userId, final UserDto userDto) {
         User user = userRepository.findById(userId).orElseThrow(() -> new UserNotFoundException(userId));
-        log.info("Updating User {}", user);
+        log.info("Updating User with ID {}", userId);
+        String previousEmail = user.getEmail();
 
         if (userDto.firstName() != null) user.setFirstName(userDto.firstName());
         if (userDto.lastName() != null) user.setLastName(userDto.lastName());
         if (userDto.birthdate() != null) user.setBirthdate(userDto.birthdate());
         if (userDto.email() != null) user.setEmail(userDto.email());
 
-        return userRepository.save(user);
+        try {
+            return userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw translateEmailConflict(e, user.getEmail());
+        } finally {
+            evictFromCaches(userId, previousEmail);
+        }
     }
 
     /**
-     * Retrieves a user by their id.
+     * Retrieves a user by their id. Served from the {@link UserCacheConfig#USERS_BY_ID} cache, the returned user
+     * is shared and must not be modified.
      *
      * @param userId the id of the user to retrieve.
      * @return an Optional containing the User if found, or an empty Optional if not found.
      */
     @Override
+    @Cacheable(cacheNames = UserCacheConfig.USERS_BY_ID, unless = "#result == null")
     public Optional<User> getUser(final Long userId) {
         return userRepository.findById(userId);
     }
 
     /**
-     * Retrieves a user by their email address.
+     * Retrieves a user by their email address. Served from the {@link UserCacheConfig#USERS_BY_EMAIL} cache, the returned user
+     * is shared and must not be modified.
      *
      * @param email the email of the user to retrieve.
      * @return an Optional containing the User if found, or an empty Optional if not found.
      */
     @Override
+    @Cacheable(cacheNames = UserCacheConfig.USERS_BY_EMAIL, unless = "#result == null")
     public Optional<User> getUserByEmail(final String email) {
         return userRepository.findByEmail(email);
     }
@@ -87,6 +133,7 @@ class UserServiceImpl implements UserService, UserProvider {
                 .orElseThrow(() -> new UserNotFoundException(userId)); // Handle case where user doesn't exist
         log.info("Deleting User with ID {}", userId);
         userRepository.delete(user); // Delete the user
+        evictFromCaches(userId, user.getEmail());
     }
 
     /**
@@ -98,4 +145,126 @@ class UserServiceImpl implements UserService, UserProvider {
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves a page of users ordered by id.
+     *
+     * @param afterId id of the last user from the previous page, or null for the first page.
+     * @param limit   maximum number of users to return.
+     * @return a List of User entities with id greater than afterId.
+     */
+    @Override
+    public List<User> findUsers(@Nullable final Long afterId, final int limit) {
+        return userRepository.findPage(afterId == null ? 0 : afterId, Limit.of(limit));
+    }
+
+    /**
+     * Retrieves basic information of a user by their id, reading only the required columns.
+     *
+     * @param userId the id of the user to retrieve.
+     * @return an Optional containing the SimpleUserDto if found, or an empty Optional if not found.
+     */
+    @Override
+    public Optional<SimpleUserDto> getSimpleUser(final Long userId) {
+        return userRepository.findSimpleById(userId);
+    }
+
+    /**
+     * Retrieves a page of basic user information ordered by id, reading only the required columns.
+     *
+     * @param afterId id of the last user from the previous page, or null for the first page.
+     * @param limit   maximum number of users to return.
+     * @return a List of SimpleUserDto with id greater than afterId.
+     */
+    @Override
+    public List<SimpleUserDto> findSimpleUsers(@Nullable final Long afterId, final int limit) {
+        return userRepository.findSimplePage(afterId == null ? 0 : afterId, Limit.of(limit));
+    }
+
+    /**
+     * Retrieves a page of user ids and emails ordered by id, reading only the required columns.
+     *
+     * @param afterId id of the last user from the previous page, or null for the first page.
+     * @param limit   maximum number of users to return.
+     * @return a List of UserEmailDto with id greater than afterId.
+     */
+    @Override
+    public List<UserEmailDto> findUserEmails(@Nullable final Long afterId, final int limit) {
+        return userRepository.findEmailPage(afterId == null ? 0 : afterId, Limit.of(limit));
+    }
+
+    /**
+     * Retrieves a page of users born before the given date.
+     *
+     * @param date           only users born before this date are returned.
+     * @param afterBirthdate birthdate of the last user from the previous page, or null for the first page.
+     * @param afterId        id of the last user from the previous page, or null for the first page.
+     * @param limit          maximum number of users to return.
+     * @return a List of User entities ordered by birthdate and id.
+     */
+    @Override
+    public List<User> findUsersOlderThan(final LocalDate date,
+                                         @Nullable final LocalDate afterBirthdate,
+                                         @Nullable final Long afterId,
+                                         final int limit) {
+        if (afterBirthdate == null || afterId == null) {
+            return userRepository.findOlderThan(date, Limit.of(limit));
+        }
+        return userRepository.findOlderThan(date, afterBirthdate, afterId, Limit.of(limit));
+    }
+
+    /**
+     * Searches users by a fragment of their email, ignoring the letter case. Served from the in-memory {@link EmailSearchIndex},
+     * or from the database until the index is loaded on startup.
+     * Within a transaction the pending user writes are flushed first - sequence generated IDs delay the inserts until flush,
+     * and the index learns about a user only once it is written.
+     *
+     * @param fragment part of the email to search for.
+     * @param limit    maximum number of users to return.
+     * @return a List of the best matching users' ids and emails.
+     * @throws BusinessException if the fragment is too short to be searched for.
+     */
+    @Override
+    public List<UserEmailDto> searchUsersByEmail(final String fragment, final int limit) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            userRepository.flush();
+        }
+        if (!emailSearchIndex.isLoaded()) {
+            return userRepository.searchEmails(EmailSearchIndex.normalizeFragment(fragment), Limit.of(limit));
+        }
+        return emailSearchIndex.search(fragment, limit);
+    }
+
+    /**
+     * Loads emails of all the users stored in the database into the {@link EmailSearchIndex} once the application is started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void loadEmailSearchIndex() {
+        try (Stream<UserEmailDto> emails = userRepository.streamAllEmails()) {
+            emailSearchIndex.load(emails);
+        }
+        log.info("Email search index loaded");
+    }
+
+    private void evictFromCaches(Long userId, String email) {
+        Objects.requireNonNull(cacheManager.getCache(UserCacheConfig.USERS_BY_ID)).evict(userId);
+        Objects.requireNonNull(cacheManager.getCache(UserCacheConfig.USERS_BY_EMAIL)).evict(email);
+    }
+
+    private static RuntimeException translateEmailConflict(DataIntegrityViolationException e, String email) {
+        return isEmailConflict(e) ? new DuplicateEmailException(email) : e;
+    }
+
+    /**
+     * Checks whether the violation is of the {@link User#EMAIL_UNIQUE_CONSTRAINT}, by the constraint name extracted by Hibernate.
+     *
+     * @param e violation thrown by a flush of users
+     * @return {@code true} if the email is already used by another user
+     */
+    static boolean isEmailConflict(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && EMAIL_CONSTRAINT_NAME.matcher(violation.getConstraintName()).lookingAt();
+    }
+}
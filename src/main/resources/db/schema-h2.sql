@@ -0,0 +1,99 @@
+-- Schema of the persistent H2 database (the persistent profile), created on the first start and validated
+-- by Hibernate on every start. Keep in sync with the entity mappings - PersistentStorageIntegrationTest fails on drift.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS trainings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS training_rollups_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS email_outbox_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS training_sample_blocks_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS users (
+    id         BIGINT       NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    birthdate  DATE         NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+CREATE INDEX IF NOT EXISTS idx_users_birthdate ON users (birthdate, id);
+
+CREATE TABLE IF NOT EXISTS trainings (
+    id              BIGINT       NOT NULL,
+    user_id         BIGINT,
+    start_time      TIMESTAMP(6) NOT NULL,
+    end_time        TIMESTAMP(6) NOT NULL,
+    activity_type   TINYINT      NOT NULL,
+    distance        FLOAT(53)    NOT NULL,
+    average_speed   FLOAT(53)    NOT NULL,
+    calories_burned INTEGER      DEFAULT 0 NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_trainings_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+-- Databases created before the calories were computed.
+ALTER TABLE trainings ADD COLUMN IF NOT EXISTS calories_burned INTEGER DEFAULT 0 NOT NULL;
+CREATE INDEX IF NOT EXISTS idx_trainings_user_start_time ON trainings (user_id, start_time, id);
+CREATE INDEX IF NOT EXISTS idx_trainings_activity_type_end_time ON trainings (activity_type, end_time, id);
+CREATE INDEX IF NOT EXISTS idx_trainings_end_time ON trainings (end_time, id);
+
+CREATE TABLE IF NOT EXISTS statistics (
+    user_id               BIGINT    NOT NULL,
+    total_trainings       INTEGER   NOT NULL,
+    total_distance        FLOAT(53) NOT NULL,
+    total_calories_burned INTEGER   NOT NULL,
+    PRIMARY KEY (user_id),
+    CONSTRAINT fk_statistics_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS training_rollups (
+    id                     BIGINT    NOT NULL,
+    user_id                BIGINT    NOT NULL,
+    granularity            TINYINT   NOT NULL,
+    bucket_start           DATE      NOT NULL,
+    activity_type          TINYINT   NOT NULL,
+    sessions               BIGINT    NOT NULL,
+    total_distance         FLOAT(53) NOT NULL,
+    total_duration_seconds BIGINT    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_training_rollups_bucket UNIQUE (user_id, granularity, bucket_start, activity_type),
+    CONSTRAINT fk_training_rollups_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS training_sample_blocks (
+    id              BIGINT           NOT NULL,
+    training_id     BIGINT           NOT NULL,
+    sample_column   TINYINT          NOT NULL,
+    first_timestamp BIGINT           NOT NULL,
+    last_timestamp  BIGINT           NOT NULL,
+    sample_count    INTEGER          NOT NULL,
+    data            VARBINARY(65536) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_training_sample_blocks UNIQUE (training_id, sample_column, first_timestamp),
+    CONSTRAINT fk_training_sample_blocks_training FOREIGN KEY (training_id) REFERENCES trainings (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGINT                       NOT NULL,
+    to_address      VARCHAR(255)                 NOT NULL,
+    subject         VARCHAR(255)                 NOT NULL,
+    content         VARCHAR(100000)              NOT NULL,
+    status          TINYINT                      NOT NULL,
+    attempts        INTEGER                      NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error      VARCHAR(1000),
+    PRIMARY KEY (id)
+);
+CREATE INDEX IF NOT EXISTS idx_email_outbox_pending ON email_outbox (status, next_attempt_at, id);
+
+CREATE TABLE IF NOT EXISTS weekly_report_checkpoints (
+    week_start   DATE    NOT NULL,
+    last_user_id BIGINT,
+    completed    BOOLEAN NOT NULL,
+    PRIMARY KEY (week_start)
+);
+
+CREATE TABLE IF NOT EXISTS ingest_checkpoints (
+    journal        VARCHAR(255) NOT NULL,
+    applied_offset BIGINT       NOT NULL,
+    PRIMARY KEY (journal)
+);
@@ -0,0 +1,47 @@
+package com.capgemini.wsb.fitnesstracker;
+
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The context starting at all proves that {@code db/schema-h2.sql} matches the entity mappings - Hibernate validates
+ * the schema of the persistent profile instead of generating it. Only the persistent profile is active, the test profile
+ * would switch the datasource back to the in-memory database.
+ */
+@IntegrationTest
+@ActiveProfiles("persistent")
+@TestPropertySource(properties = "storage.h2.path=./target/persistent-storage-test/fitness-tracker")
+class PersistentStorageIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private HikariDataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldUseFileDatabase_whenPersistentProfileIsActive() {
+        assertThat(dataSource.getJdbcUrl())
+                .startsWith("jdbc:h2:file:./target/persistent-storage-test/fitness-tracker;")
+                .contains("CACHE_SIZE=65536", "WRITE_DELAY=0");
+    }
+
+    @Test
+    void shouldStoreUser_whenSchemaIsCreatedByScript() {
+        User user = existingUser(new User("John", "Doe", LocalDate.of(1990, 5, 17), randomUUID() + "@domain.com"));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT email FROM users WHERE id = ?", String.class, user.getId()))
+                .isEqualTo(user.getEmail());
+    }
+
+}
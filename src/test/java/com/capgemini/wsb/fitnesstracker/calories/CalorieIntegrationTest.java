@@ -0,0 +1,88 @@
+package com.capgemini.wsb.fitnesstracker.calories;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.calories.api.CalorieProvider;
+import com.capgemini.wsb.fitnesstracker.calories.api.CalorieService;
+import com.capgemini.wsb.fitnesstracker.statistics.api.Statistics;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class CalorieIntegrationTest extends IntegrationTestBase {
+
+    private static final long START = 1_717_228_800_000L;
+
+    private static final long HOUR = 3_600_000;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Autowired
+    private CalorieProvider calorieProvider;
+
+    @Autowired
+    private CalorieService calorieService;
+
+    @Autowired
+    private StatisticsProvider statisticsProvider;
+
+    @Test
+    void shouldComputeCaloriesAndStatistics_whenTrainingIsCreatedAndUpdated() {
+        User user = existingUser(generateClient());
+
+        Training created = trainingService.createTraining(new TrainingRequestDto(user.getId(), new Date(START), new Date(START + HOUR),
+                ActivityType.RUNNING, 10.0, 10.0));
+        int createdCalories = created.getCaloriesBurned();
+        assertThat(createdCalories).isPositive().isEqualTo(calorieProvider.computeCalories(created));
+        assertThat(statisticsProvider.getStatistics(user.getId())).get()
+                .extracting(Statistics::getTotalCaloriesBurned).isEqualTo(createdCalories);
+
+        Training updated = trainingService.updateTraining(created.getId(), new TrainingRequestDto(null, null, null, null, 15.0, 15.0));
+
+        assertThat(updated.getCaloriesBurned()).isGreaterThan(createdCalories);
+        assertThat(statisticsProvider.getStatistics(user.getId())).get()
+                .extracting(Statistics::getTotalCaloriesBurned).isEqualTo(updated.getCaloriesBurned());
+    }
+
+    @Test
+    void shouldRecomputeCaloriesAndStatistics_whenTrainingsWereWrittenDirectly() {
+        User user = existingUser(generateClient());
+        List<Training> trainings = createAllTrainings(List.of(
+                new Training(user, new Date(START), new Date(START + HOUR), ActivityType.CYCLING, 25, 25),
+                new Training(user, new Date(START + 24 * HOUR), new Date(START + 25 * HOUR), ActivityType.WALKING, 5, 5),
+                new Training(user, new Date(START + 48 * HOUR), new Date(START + 50 * HOUR), ActivityType.TENNIS, 0, 0)));
+
+        long changed = calorieService.recomputeAllCalories();
+
+        Map<Long, Integer> expected = trainings.stream()
+                .collect(Collectors.toMap(Training::getId, calorieProvider::computeCalories));
+        assertThat(changed).isEqualTo(trainings.size());
+        assertThat(getAllTrainings()).allSatisfy(training ->
+                assertThat(training.getCaloriesBurned()).isPositive().isEqualTo(expected.get(training.getId())));
+        assertThat(statisticsProvider.getStatistics(user.getId())).get()
+                .extracting(Statistics::getTotalCaloriesBurned)
+                .isEqualTo(expected.values().stream().mapToInt(Integer::intValue).sum());
+        assertThat(calorieService.recomputeAllCalories()).isZero();
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.of(1990, 1, 1), randomUUID().toString());
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.capgemini.wsb.fitnesstracker.calories.internal;
+
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CalorieModelTest {
+
+    private static final long START = LocalDate.of(2024, 6, 1).atTime(8, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+
+    private static final long HOUR = 3_600_000;
+
+    private static final long BORN_30_YEARS_BEFORE = LocalDate.of(1994, 6, 1).toEpochDay();
+
+    private final CalorieModel calorieModel = new CalorieModel(new CalorieProperties(70, 30, 0.005, 1000, 1));
+
+    @Test
+    void shouldMultiplyMetByBodyMassAndHours_whenUserIsOfReferenceAge() {
+        int calories = calorieModel.calories(ActivityType.RUNNING.ordinal(), START, START + HOUR / 2, 5, 10, BORN_30_YEARS_BEFORE);
+
+        assertThat(calories).isEqualTo((int) Math.round(9.8 * 70 * 0.5));
+    }
+
+    @Test
+    void shouldBurnMore_whenIntensityIsHigher() {
+        int walking = calorieModel.calories(ActivityType.WALKING.ordinal(), START, START + HOUR, 4, 4, BORN_30_YEARS_BEFORE);
+        int briskWalking = calorieModel.calories(ActivityType.WALKING.ordinal(), START, START + HOUR, 6.5, 6.5, BORN_30_YEARS_BEFORE);
+        int cycling = calorieModel.calories(ActivityType.CYCLING.ordinal(), START, START + HOUR, 28, 28, BORN_30_YEARS_BEFORE);
+
+        assertThat(walking).isLessThan(briskWalking).isLessThan(cycling);
+    }
+
+    @Test
+    void shouldDeriveSpeedFromDistance_whenAverageSpeedIsMissing() {
+        int withSpeed = calorieModel.calories(ActivityType.RUNNING.ordinal(), START, START + HOUR, 12, 12, BORN_30_YEARS_BEFORE);
+        int withoutSpeed = calorieModel.calories(ActivityType.RUNNING.ordinal(), START, START + HOUR, 12, 0, BORN_30_YEARS_BEFORE);
+        int withoutIntensity = calorieModel.calories(ActivityType.RUNNING.ordinal(), START, START + HOUR, 0, 0, BORN_30_YEARS_BEFORE);
+
+        assertThat(withoutSpeed).isEqualTo(withSpeed);
+        assertThat(withoutIntensity).isEqualTo((int) Math.round(7.0 * 70));
+    }
+
+    @Test
+    void shouldBurnLess_whenUserIsOlder() {
+        long bornSixtyYearsBefore = LocalDate.of(1964, 6, 1).toEpochDay();
+
+        int reference = calorieModel.calories(ActivityType.TENNIS.ordinal(), START, START + HOUR, 0, 0, BORN_30_YEARS_BEFORE);
+        int older = calorieModel.calories(ActivityType.TENNIS.ordinal(), START, START + HOUR, 0, 0, bornSixtyYearsBefore);
+        int unknown = calorieModel.calories(ActivityType.TENNIS.ordinal(), START, START + HOUR, 0, 0, CalorieModel.UNKNOWN_BIRTHDATE);
+
+        assertThat(older).isEqualTo((int) Math.round(7.3 * 70 * 0.85));
+        assertThat(unknown).isEqualTo(reference);
+    }
+
+    @Test
+    void shouldBurnNothing_whenTrainingDoesNotEndAfterStart() {
+        assertThat(calorieModel.calories(ActivityType.SWIMMING.ordinal(), START, START, 1, 2, BORN_30_YEARS_BEFORE)).isZero();
+    }
+
+}
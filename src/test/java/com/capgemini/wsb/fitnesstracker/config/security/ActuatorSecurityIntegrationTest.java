@@ -0,0 +1,57 @@
+package com.capgemini.wsb.fitnesstracker.config.security;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureObservability(tracing = false)
+@TestPropertySource(properties = {
+        "management.endpoints.web.exposure.include=health,info,metrics,caches,prometheus",
+        "management.health.mail.enabled=false"
+})
+class ActuatorSecurityIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldServeHealthAndInfo_whenRequestIsAnonymous() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/info")).andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldRejectCachesAndMetrics_whenRequestIsAnonymous() throws Exception {
+        mockMvc.perform(get("/actuator/caches")).andExpect(status().isUnauthorized());
+        mockMvc.perform(delete("/actuator/caches")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/metrics/cache.gets")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/actuator/prometheus")).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRejectCachesAndMetrics_whenUserIsNotAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/caches").with(httpBasic("user", "password"))).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/actuator/caches").with(httpBasic("user", "password"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("user", "password"))).andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("user", "password"))).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldServeCachesAndMetrics_whenUserIsAdmin() throws Exception {
+        mockMvc.perform(get("/actuator/caches").with(httpBasic("admin", "password"))).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics").with(httpBasic("admin", "password"))).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/prometheus").with(httpBasic("admin", "password"))).andExpect(status().isOk());
+    }
+
+}
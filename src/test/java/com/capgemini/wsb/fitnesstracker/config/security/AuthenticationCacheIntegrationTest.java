@@ -0,0 +1,51 @@
+package com.capgemini.wsb.fitnesstracker.config.security;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+class AuthenticationCacheIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void shouldSkipPasswordHashCheck_whenCredentialsWereVerified() throws Exception {
+        mockMvc.perform(get("/v1/users").with(httpBasic("user", "password"))).andExpect(status().isOk());
+        clearInvocations(passwordEncoder);
+
+        mockMvc.perform(get("/v1/users").with(httpBasic("user", "password"))).andExpect(status().isOk());
+
+        verify(passwordEncoder, never()).matches(any(), anyString());
+    }
+
+    @Test
+    void shouldRejectWrongPassword_whenCorrectCredentialsAreCached() throws Exception {
+        mockMvc.perform(get("/v1/users").with(httpBasic("user", "password"))).andExpect(status().isOk());
+
+        mockMvc.perform(get("/v1/users").with(httpBasic("user", "wrong"))).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldRejectUnknownUser() throws Exception {
+        mockMvc.perform(get("/v1/users").with(httpBasic("nobody", "password"))).andExpect(status().isUnauthorized());
+    }
+
+}
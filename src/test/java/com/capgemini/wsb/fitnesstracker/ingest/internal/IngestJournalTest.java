@@ -0,0 +1,101 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestJournalTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void shouldReadAppendedRecords_acrossSegments() throws Exception {
+        List<String> records = new ArrayList<>();
+        try (IngestJournal journal = IngestJournal.open(directory, SEGMENT_SIZE)) {
+            List<CompletableFuture<Long>> acknowledged = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                records.add("record-" + i);
+                acknowledged.add(journal.append(bytes("record-" + i)));
+            }
+            acknowledged.forEach(CompletableFuture::join);
+
+            assertThat(readAll(journal, journal.getFirstOffset())).containsExactlyElementsOf(records);
+        }
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void shouldContinueAfterReopen_whenLastRecordIsTorn() throws Exception {
+        long end;
+        try (IngestJournal journal = IngestJournal.open(directory, SEGMENT_SIZE)) {
+            journal.append(bytes("first")).join();
+            end = journal.append(bytes("second")).join();
+        }
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(12).putInt(100).putInt(0).put(bytes("torn")).flip();
+            channel.write(torn, end);
+        }
+
+        try (IngestJournal journal = IngestJournal.open(directory, SEGMENT_SIZE)) {
+            assertThat(journal.getDurableOffset()).isEqualTo(end);
+            journal.append(bytes("third")).join();
+
+            assertThat(readAll(journal, 0)).containsExactly("first", "second", "third");
+        }
+    }
+
+    @Test
+    void shouldDeleteAppliedSegments_whenReleased() throws Exception {
+        try (IngestJournal journal = IngestJournal.open(directory, SEGMENT_SIZE)) {
+            long last = 0;
+            for (int i = 0; i < 100; i++) {
+                last = journal.append(bytes("record-" + i)).join();
+            }
+
+            journal.release(last);
+
+            assertThat(segmentFiles()).hasSize(1);
+            assertThat(journal.getFirstOffset()).isPositive();
+            assertThat(journal.read(journal.getFirstOffset(), 100)).isNotEmpty().last()
+                    .extracting(IngestJournal.JournalEntry::nextOffset).isEqualTo(last);
+        }
+    }
+
+    private static List<String> readAll(IngestJournal journal, long from) {
+        List<String> read = new ArrayList<>();
+        List<IngestJournal.JournalEntry> entries;
+        long offset = from;
+        while (!(entries = journal.read(offset, 7)).isEmpty()) {
+            entries.forEach(entry -> read.add(new String(entry.payload(), StandardCharsets.UTF_8)));
+            offset = entries.get(entries.size() - 1).nextOffset();
+        }
+        return read;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
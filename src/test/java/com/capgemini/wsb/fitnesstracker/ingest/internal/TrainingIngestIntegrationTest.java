@@ -0,0 +1,122 @@
+package com.capgemini.wsb.fitnesstracker.ingest.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@ActiveProfiles("ingestJournal")
+@TestPropertySource(properties = {
+        "ingest.name=${random.uuid}",
+        "ingest.directory=./target/ingest-test/${random.uuid}",
+        "ingest.segment-size=4KB",
+        "ingest.apply-interval=PT0.05S"
+})
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingIngestIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private IngestJournal journal;
+
+    @Autowired
+    private JournalApplier applier;
+
+    @Autowired
+    private IngestCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private IngestProperties properties;
+
+    @AfterEach
+    void drainJournal() {
+        // nothing is left for the scheduled runs to apply while the database is cleaned up
+        applier.apply();
+    }
+
+    @Test
+    void shouldCreateTrainings_whenUploadsAreAccepted() throws Exception {
+        User user = existingUser(generateClient());
+
+        for (int i = 0; i < 200; i++) {
+            upload(user.getId(), "RUNNING");
+        }
+
+        long journalEnd = journal.getDurableOffset();
+        applier.apply();
+
+        assertThat(checkpointRepository.findById(properties.getName()))
+                .hasValueSatisfying(checkpoint -> assertThat(checkpoint.getAppliedOffset()).isEqualTo(journalEnd));
+        assertThat(getAllTrainings()).hasSize(200).allSatisfy(training -> {
+            assertThat(training.getUser().getId()).isEqualTo(user.getId());
+            assertThat(training.getActivityType()).isEqualTo(ActivityType.RUNNING);
+            assertThat(training.getDistance()).isEqualTo(10.52);
+        });
+    }
+
+    @Test
+    void shouldRejectUpload_whenUserDoesNotExist() throws Exception {
+        mockMvc.perform(post("/v1/ingest/trainings").contentType(MediaType.APPLICATION_JSON).content(requestBody(Long.MAX_VALUE, "RUNNING")))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldRejectUpload_whenActivityTypeIsMissing() throws Exception {
+        User user = existingUser(generateClient());
+
+        mockMvc.perform(post("/v1/ingest/trainings").contentType(MediaType.APPLICATION_JSON).content("""
+                        {
+                            "userId": "%s",
+                            "startTime": "2024-04-01T10:00:00",
+                            "endTime": "2024-04-01T11:00:00"
+                        }
+                        """.formatted(user.getId())))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void upload(Long userId, String activityType) throws Exception {
+        MvcResult result = mockMvc.perform(post("/v1/ingest/trainings").contentType(MediaType.APPLICATION_JSON).content(requestBody(userId, activityType)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isAccepted());
+    }
+
+    private static String requestBody(Long userId, String activityType) {
+        return """
+                {
+                    "userId": "%s",
+                    "startTime": "2024-04-01T10:00:00",
+                    "endTime": "2024-04-01T11:00:00",
+                    "activityType": "%s",
+                    "distance": 10.52
+                }
+                """.formatted(userId, activityType);
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID().toString());
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.capgemini.wsb.fitnesstracker.loader;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.statistics.api.RollupGranularity;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import com.capgemini.wsb.fitnesstracker.statistics.api.TrainingRollup;
+import com.capgemini.wsb.fitnesstracker.statistics.api.TrainingRollupProvider;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@ActiveProfiles("loadInitialData")
+@TestPropertySource(properties = {
+        "loader.users=25",
+        "loader.trainings-per-user=4",
+        "loader.chunk-size=10",
+        "loader.threads=3",
+        "statistics.rebuild-chunk-size=10"
+})
+class SyntheticDataGeneratorIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private StatisticsProvider statisticsProvider;
+
+    @Autowired
+    private TrainingRollupProvider trainingRollupProvider;
+
+    @Autowired
+    private LoaderProperties properties;
+
+    @Test
+    void shouldGenerateConfiguredUsersTrainingsAndStatistics_whenProfileIsActive() {
+        List<User> users = getAllUsers();
+        List<Training> trainings = getAllTrainings();
+
+        assertThat(users).hasSize(25);
+        assertThat(users).extracting(User::getEmail).doesNotHaveDuplicates();
+        assertThat(trainings).hasSize(100);
+        assertThat(trainings).allSatisfy(training -> assertThat(training.getEndTime()).isAfter(training.getStartTime()));
+        assertThat(users).allSatisfy(user -> assertThat(statisticsProvider.getStatistics(user.getId()))
+                .hasValueSatisfying(statistics -> assertThat(statistics.getTotalTrainings()).isEqualTo(4)));
+        LocalDate periodEnd = properties.getPeriodEnd();
+        for (RollupGranularity granularity : RollupGranularity.values()) {
+            assertThat(trainingRollupProvider.findRollups(users.get(0).getId(), granularity, periodEnd.minusDays(properties.getPeriodDays()), periodEnd))
+                    .as("%s rollups", granularity)
+                    .extracting(TrainingRollup::getSessions)
+                    .satisfies(sessions -> assertThat(sessions.stream().mapToLong(Long::longValue).sum()).isEqualTo(4));
+        }
+
+        User created = existingUser(new User("New", "User", LocalDate.of(1990, 1, 1), "new.user@domain.com"));
+        assertThat(created.getId()).isGreaterThan(25L);
+    }
+
+}
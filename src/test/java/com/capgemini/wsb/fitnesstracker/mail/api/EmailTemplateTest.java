@@ -0,0 +1,66 @@
+package com.capgemini.wsb.fitnesstracker.mail.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateTest {
+
+    private static final Map<String, TemplateVariable<Model>> VARIABLES = Map.of(
+            "name", TemplateVariable.text(Model::name),
+            "count", TemplateVariable.number(Model::count),
+            "minutes", TemplateVariable.number(Model::count, 2),
+            "distance", TemplateVariable.decimal(Model::distance, 2));
+
+    @Test
+    void shouldSubstituteVariables_whenRenderingTemplate() {
+        EmailTemplate<Model> template = EmailTemplate.compile("test", """
+                Subject: Hello {{name}}
+
+                {{ name }} did {{count}} trainings ({{minutes}} min), {{distance}} km.
+                """, VARIABLES);
+
+        EmailDto email = template.render("john@domain.com", new Model("John", 7, 15.5));
+
+        assertThat(email.toAddress()).isEqualTo("john@domain.com");
+        assertThat(email.subject()).isEqualTo("Hello John");
+        assertThat(email.content()).isEqualTo("John did 7 trainings (07 min), 15.50 km.\n");
+    }
+
+    @Test
+    void shouldRoundDecimalHalfUp_whenRenderingTemplate() {
+        EmailTemplate<Model> template = EmailTemplate.compile("test", "Subject: s\n\n{{distance}}", VARIABLES);
+
+        assertThat(template.render("a@b.c", new Model("", 0, 1.125)).content()).isEqualTo("1.13");
+        assertThat(template.render("a@b.c", new Model("", 0, -1.5)).content()).isEqualTo("-1.50");
+        assertThat(template.render("a@b.c", new Model("", 0, 0)).content()).isEqualTo("0.00");
+    }
+
+    @Test
+    void shouldFailOnCompilation_whenTemplateUsesUnknownVariable() {
+        assertThatThrownBy(() -> EmailTemplate.compile("test", "Subject: s\n\n{{unknown}}", VARIABLES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{{unknown}}");
+    }
+
+    @Test
+    void shouldFailOnCompilation_whenTemplateHasNoSubject() {
+        assertThatThrownBy(() -> EmailTemplate.compile("test", "{{name}}", VARIABLES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldFailOnLoading_whenTemplateDoesNotExist() {
+        assertThatThrownBy(() -> EmailTemplate.load("missing", VARIABLES))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("mail/templates/missing.txt");
+    }
+
+    private record Model(String name, long count, double distance) {
+
+    }
+
+}
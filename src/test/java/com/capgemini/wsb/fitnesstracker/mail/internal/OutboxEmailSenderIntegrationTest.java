@@ -0,0 +1,98 @@
+package com.capgemini.wsb.fitnesstracker.mail.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailDto;
+import com.capgemini.wsb.fitnesstracker.mail.api.EmailSender;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "mail.outbox.enabled=true",
+        "mail.outbox.poll-interval=PT0.1S"
+})
+class OutboxEmailSenderIntegrationTest extends IntegrationTestBase {
+
+    private static final int EMAILS = 25;
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private EmailSender emailSender;
+
+    @Autowired
+    private OutboxEmailRepository outboxEmailRepository;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @AfterEach
+    void cleanUpOutbox() {
+        outboxEmailRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void shouldDeliverQueuedEmailsAndDrainOutbox_whenSmtpServerIsUp() {
+        for (int i = 0; i < EMAILS; i++) {
+            emailSender.send(new EmailDto("user%s@domain.com".formatted(i), "Subject " + i, "Content " + i));
+        }
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, EMAILS)).isTrue();
+        assertThat(greenMail.getReceivedMessages()).hasSize(EMAILS);
+        await().atMost(Duration.ofSeconds(10)).until(() -> outboxEmailRepository.count() == 0);
+    }
+
+    @Test
+    void shouldDeliverEveryEmailOnce_whenDispatchesOverlap() {
+        int emails = 200;
+        for (int i = 0; i < emails; i++) {
+            emailSender.send(new EmailDto("user%s@domain.com".formatted(i), "Subject " + i, "Content " + i));
+        }
+
+        CompletableFuture.allOf(IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.runAsync(outboxDispatcher::dispatch))
+                .toArray(CompletableFuture[]::new)).join();
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, emails)).isTrue();
+        await().atMost(Duration.ofSeconds(10)).until(() -> outboxEmailRepository.count() == 0);
+        assertThat(greenMail.getReceivedMessages())
+                .extracting("subject")
+                .doesNotHaveDuplicates()
+                .hasSize(emails);
+    }
+
+    @Test
+    void shouldKeepEmailForRetryWithBackoff_whenSmtpServerIsDown() {
+        greenMail.stop();
+        try {
+            emailSender.send(new EmailDto("user@domain.com", "Subject", "Content"));
+
+            await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(outboxEmailRepository.findAll())
+                    .singleElement()
+                    .satisfies(email -> {
+                        assertThat(email.getStatus()).isEqualTo(OutboxEmail.Status.PENDING);
+                        assertThat(email.getAttempts()).isEqualTo(1);
+                        assertThat(email.getLastError()).isNotNull();
+                        assertThat(email.getNextAttemptAt()).isAfter(Instant.now());
+                    }));
+        } finally {
+            greenMail.start();
+        }
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.capgemini.wsb.fitnesstracker.monitoring.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingNotFoundException;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@IntegrationTest
+class MethodMetricsAspectIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserProvider userProvider;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @Test
+    void shouldTimeServiceCalls_andLeaveRepositoryCallsToBuiltInMetric_whenGettingUser() {
+        User user = existingUser(new User("John", "Doe", LocalDate.now(), randomUUID() + "@domain.com"));
+        long serviceCalls = count("UserServiceImpl", "getUser", "success");
+        long repositoryCalls = repositoryInvocations("UserRepository", "findById");
+
+        userProvider.getUser(user.getId() + 1_000);
+
+        assertThat(count("UserServiceImpl", "getUser", "success")).isEqualTo(serviceCalls + 1);
+        assertThat(repositoryInvocations("UserRepository", "findById")).isEqualTo(repositoryCalls + 1);
+        assertThat(count("UserRepository", "findById", "success")).isZero();
+    }
+
+    @Test
+    void shouldTagFailedCallsWithException_whenServiceThrows() {
+        long failedCalls = count("TrainingServiceImpl", "deleteTraining", "TrainingNotFoundException");
+
+        assertThatThrownBy(() -> trainingService.deleteTraining(999_999L)).isInstanceOf(TrainingNotFoundException.class);
+
+        assertThat(count("TrainingServiceImpl", "deleteTraining", "TrainingNotFoundException")).isEqualTo(failedCalls + 1);
+    }
+
+    private long count(String className, String method, String outcome) {
+        Timer timer = meterRegistry.find(MethodMetricsAspect.METRIC_NAME)
+                .tags("class", className, "method", method, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private long repositoryInvocations(String repository, String method) {
+        Timer timer = meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", repository, "method", method, "state", "SUCCESS")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+}
@@ -0,0 +1,172 @@
+package com.capgemini.wsb.fitnesstracker.notification.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "mail.outbox.enabled=true",
+        "notification.weekly-report.chunk-size=2",
+        "notification.weekly-report.threads=2"
+})
+class WeeklyReportJobIntegrationTest extends IntegrationTestBase {
+
+    private static final LocalDate WEEK_START = LocalDate.of(2024, 4, 1);
+
+    private static final long TIMEOUT_MILLIS = 10_000;
+
+    /**
+     * Monday 00:30 in Europe/Warsaw, still Sunday in UTC.
+     */
+    private static final Instant NOW = Instant.parse("2024-04-07T22:30:00Z");
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private WeeklyReportJob weeklyReportJob;
+
+    @Autowired
+    private WeeklyReportCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    @AfterEach
+    void cleanUpCheckpoints() {
+        checkpointRepository.deleteAll();
+    }
+
+    @Test
+    void shouldEmailEveryUserTheirWeeklySummary_whenSendingReports() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        User user3 = existingUser(generateClient());
+        createTraining(user1, LocalDateTime.of(2024, 4, 2, 10, 0), 10.0);
+        createTraining(user1, LocalDateTime.of(2024, 4, 7, 10, 0), 5.5);
+        createTraining(user1, LocalDateTime.of(2024, 3, 28, 10, 0), 3.0);
+        createTraining(user3, LocalDateTime.of(2024, 4, 3, 10, 0), 7.25);
+
+        int sent = weeklyReportJob.sendReports(WEEK_START);
+
+        assertThat(sent).isEqualTo(3);
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT_MILLIS, 3)).isTrue();
+        Map<String, String> emails = receivedEmails();
+        assertThat(emails).containsOnlyKeys(user1.getEmail(), user2.getEmail(), user3.getEmail());
+        assertThat(emails.get(user1.getEmail()))
+                .contains("Trainings this week: 2")
+                .contains("Distance this week: 15.50 km")
+                .contains("Duration this week: 2 h 00 min")
+                .contains("Trainings in total: 3");
+        assertThat(emails.get(user2.getEmail()))
+                .contains("Trainings this week: 0")
+                .contains("Trainings in total: 0");
+        assertThat(emails.get(user3.getEmail()))
+                .contains("Trainings this week: 1")
+                .contains("Trainings in total: 1");
+        assertThat(checkpointRepository.findById(WEEK_START)).hasValueSatisfying(checkpoint -> {
+            assertThat(checkpoint.isCompleted()).isTrue();
+            assertThat(checkpoint.getLastUserId()).isEqualTo(user3.getId());
+        });
+    }
+
+    @Test
+    void shouldResumeAfterLastCheckpointedUser_whenRunWasInterrupted() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+        User user3 = existingUser(generateClient());
+        WeeklyReportCheckpoint checkpoint = new WeeklyReportCheckpoint(WEEK_START);
+        checkpoint.advance(user1.getId());
+        checkpointRepository.save(checkpoint);
+
+        int sent = weeklyReportJob.sendReports(WEEK_START);
+
+        assertThat(sent).isEqualTo(2);
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT_MILLIS, 2)).isTrue();
+        assertThat(receivedEmails()).containsOnlyKeys(user2.getEmail(), user3.getEmail());
+    }
+
+    @Test
+    void shouldReportPreviousWeekOfClockZone_whenSendingLastWeekReports() {
+        existingUser(generateClient());
+
+        weeklyReportJob.sendLastWeekReports();
+
+        assertThat(checkpointRepository.findById(WEEK_START)).hasValueSatisfying(checkpoint -> assertThat(checkpoint.isCompleted()).isTrue());
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT_MILLIS, 1)).isTrue();
+    }
+
+    @Test
+    void shouldNotSendAnything_whenWeekIsAlreadyReported() {
+        existingUser(generateClient());
+        weeklyReportJob.sendReports(WEEK_START);
+        assertThat(greenMail.waitForIncomingEmail(TIMEOUT_MILLIS, 1)).isTrue();
+        greenMail.reset();
+
+        int sent = weeklyReportJob.sendReports(WEEK_START);
+
+        assertThat(sent).isZero();
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    private void createTraining(User user, LocalDateTime start, double distance) {
+        Date startTime = Date.from(start.atZone(ZoneId.systemDefault()).toInstant());
+        Date endTime = Date.from(start.plusHours(1).atZone(ZoneId.systemDefault()).toInstant());
+        trainingService.createTraining(new TrainingRequestDto(user.getId(), startTime, endTime, ActivityType.RUNNING, distance, 8.0));
+    }
+
+    // GreenMail 1.6 exposes the received messages through the javax.mail API
+    private static Map<String, String> receivedEmails() throws MessagingException {
+        Map<String, String> emails = new HashMap<>();
+        for (MimeMessage message : greenMail.getReceivedMessages()) {
+            emails.put(message.getAllRecipients()[0].toString(), GreenMailUtil.getBody(message));
+        }
+        return emails;
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID() + "@domain.com");
+    }
+
+    @TestConfiguration
+    static class FixedClockConfig {
+
+        @Bean
+        @Primary
+        Clock fixedClock() {
+            return Clock.fixed(NOW, ZoneId.of("Europe/Warsaw"));
+        }
+
+    }
+
+}
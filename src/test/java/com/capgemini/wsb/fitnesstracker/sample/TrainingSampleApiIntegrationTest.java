@@ -0,0 +1,153 @@
+package com.capgemini.wsb.fitnesstracker.sample;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.sample.api.SampleColumn;
+import com.capgemini.wsb.fitnesstracker.sample.api.TrainingSample;
+import com.capgemini.wsb.fitnesstracker.sample.api.TrainingSampleService;
+import com.capgemini.wsb.fitnesstracker.sample.api.TrainingSamples;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingSampleApiIntegrationTest extends IntegrationTestBase {
+
+    private static final long START = 1_717_200_000_000L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrainingSampleService trainingSampleService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldReadPeriodSpanningBlocks_whenSamplesWereAppended() {
+        Training training = existingTraining();
+        List<TrainingSample> samples = generateSamples(START, 10_000);
+        trainingSampleService.appendSamples(training.getId(), samples.subList(0, 4000));
+        trainingSampleService.appendSamples(training.getId(), samples.subList(4000, samples.size()));
+
+        TrainingSamples read = trainingSampleService.readSamples(training.getId(),
+                samples.get(3500).timestamp(), samples.get(7999).timestamp(), EnumSet.of(SampleColumn.HEART_RATE));
+
+        assertThat(read.size()).isEqualTo(4500);
+        assertThat(read.timestamps()[0]).isEqualTo(samples.get(3500).timestamp());
+        assertThat(read.timestamps()[4499]).isEqualTo(samples.get(7999).timestamp());
+        assertThat(read.heartRate()).containsExactly(samples.subList(3500, 8000).stream().mapToInt(TrainingSample::heartRate).toArray());
+        assertThat(read.pace()).isNull();
+        assertThat(read.latitude()).isNull();
+    }
+
+    @Test
+    void shouldFillLastBlock_whenAppendingSmallBatches() {
+        Training training = existingTraining();
+        List<TrainingSample> samples = generateSamples(START, 5000);
+        for (int from = 0; from < samples.size(); from += 100) {
+            trainingSampleService.appendSamples(training.getId(), samples.subList(from, from + 100));
+        }
+
+        Integer blocks = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM training_sample_blocks WHERE training_id = ?", Integer.class, training.getId());
+        assertThat(blocks).isEqualTo(2 * SampleColumn.values().length);
+        TrainingSamples read = trainingSampleService.readSamples(training.getId(), Long.MIN_VALUE, Long.MAX_VALUE, EnumSet.allOf(SampleColumn.class));
+        assertThat(read.timestamps()).containsExactly(samples.stream().mapToLong(TrainingSample::timestamp).toArray());
+        assertThat(read.heartRate()).containsExactly(samples.stream().mapToInt(TrainingSample::heartRate).toArray());
+        assertThat(read.longitude()).containsExactly(samples.stream().mapToDouble(TrainingSample::longitude).toArray());
+    }
+
+    @Test
+    void shouldRestoreAllColumns_whenReadingWholeTraining() {
+        Training training = existingTraining();
+        List<TrainingSample> samples = generateSamples(START, 100);
+        trainingSampleService.appendSamples(training.getId(), samples);
+
+        TrainingSamples read = trainingSampleService.readSamples(training.getId(), Long.MIN_VALUE, Long.MAX_VALUE, EnumSet.allOf(SampleColumn.class));
+
+        List<TrainingSample> restored = new ArrayList<>();
+        for (int i = 0; i < read.size(); i++) {
+            restored.add(new TrainingSample(read.timestamps()[i], read.pace()[i], read.heartRate()[i], read.latitude()[i], read.longitude()[i]));
+        }
+        assertThat(restored).isEqualTo(samples);
+    }
+
+    @Test
+    void shouldRejectSamples_whenNotAfterStoredOnes() {
+        Training training = existingTraining();
+        trainingSampleService.appendSamples(training.getId(), generateSamples(START, 10));
+
+        assertThatThrownBy(() -> trainingSampleService.appendSamples(training.getId(), generateSamples(START + 5_000, 10)))
+                .isInstanceOf(BusinessException.class);
+        assertThat(trainingSampleService.readSamples(training.getId(), Long.MIN_VALUE, Long.MAX_VALUE, Set.of()).size()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldReturnRequestedColumns_whenGettingSamples() throws Exception {
+        Training training = existingTraining();
+
+        mockMvc.perform(post("/v1/trainings/{trainingId}/samples", training.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                [{"timestamp": 1000, "pace": 300.5, "heartRate": 120, "latitude": 52.1, "longitude": 21.0},
+                                 {"timestamp": 2000, "pace": 301.0, "heartRate": 122, "latitude": 52.2, "longitude": 21.1},
+                                 {"timestamp": 3000, "pace": 299.5, "heartRate": 125, "latitude": 52.3, "longitude": 21.2}]"""))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/v1/trainings/{trainingId}/samples", training.getId())
+                        .param("from", "2000")
+                        .param("columns", "PACE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.timestamps").isArray())
+                .andExpect(jsonPath("$.timestamps.length()").value(2))
+                .andExpect(jsonPath("$.pace[1]").value(299.5))
+                .andExpect(jsonPath("$.heartRate").doesNotExist());
+    }
+
+    @Test
+    void shouldReturnNotFound_whenTrainingDoesNotExist() throws Exception {
+        mockMvc.perform(post("/v1/trainings/{trainingId}/samples", 999_999)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isNotFound());
+    }
+
+    private Training existingTraining() {
+        User user = existingUser(new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID() + "@domain.com"));
+        return persistTraining(new Training(user, new Date(START), new Date(START + 3_600_000), ActivityType.RUNNING, 10.0, 10.0));
+    }
+
+    private static List<TrainingSample> generateSamples(long start, int count) {
+        List<TrainingSample> samples = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            samples.add(new TrainingSample(start + i * 1000L + (i % 7 == 0 ? 3 : 0),
+                    300 + (i % 50) / 10.0, 110 + i % 40, 52.2297 + i * 1e-6, 21.0122 - i * 1e-6));
+        }
+        return samples;
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.capgemini.wsb.fitnesstracker.sample.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SampleCodecsTest {
+
+    private static final int COUNT = 3600;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void shouldRestoreTimestamps_whenIntervalsAreIrregular() {
+        long[] timestamps = new long[COUNT];
+        timestamps[0] = 1_717_200_000_000L;
+        for (int i = 1; i < COUNT; i++) {
+            long jitter = random.nextInt(10) == 0 ? random.nextInt(41) - 20 : 0;
+            timestamps[i] = timestamps[i - 1] + (i == 1000 ? 3_600_000 : i == 2000 ? 10_000_000_000L : 1000 + jitter);
+        }
+
+        byte[] encoded = DeltaOfDeltaCodec.encode(timestamps, 0, COUNT);
+
+        assertThat(DeltaOfDeltaCodec.decode(encoded, COUNT)).containsExactly(timestamps);
+        assertThat(encoded.length).isLessThan(COUNT / 2);
+    }
+
+    @Test
+    void shouldRestoreDoubles_includingSpecialValues() {
+        double[] values = new double[COUNT];
+        double latitude = 52.2297;
+        for (int i = 0; i < COUNT; i++) {
+            latitude += random.nextGaussian() * 1e-5;
+            values[i] = Math.round(latitude * 1e7) / 1e7;
+        }
+        values[10] = Double.NaN;
+        values[11] = -0.0;
+        values[12] = Double.MAX_VALUE;
+        values[13] = Double.NEGATIVE_INFINITY;
+        values[14] = values[15];
+
+        byte[] encoded = XorDoubleCodec.encode(values, 0, COUNT);
+
+        assertThat(XorDoubleCodec.decode(encoded, COUNT)).containsExactly(values);
+    }
+
+    @Test
+    void shouldStoreRepeatedDouble_inSingleBit() {
+        double[] values = new double[COUNT];
+        Arrays.fill(values, 312.5);
+
+        byte[] encoded = XorDoubleCodec.encode(values, 0, COUNT);
+
+        assertThat(XorDoubleCodec.decode(encoded, COUNT)).containsExactly(values);
+        assertThat(encoded.length).isEqualTo(8 + (COUNT - 1 + 7) / 8);
+    }
+
+    @Test
+    void shouldRestoreInts_includingExtremes() {
+        int[] values = new int[COUNT];
+        int heartRate = 120;
+        for (int i = 0; i < COUNT; i++) {
+            heartRate += random.nextInt(5) - 2;
+            values[i] = heartRate;
+        }
+        values[100] = Integer.MIN_VALUE;
+        values[101] = Integer.MAX_VALUE;
+
+        byte[] encoded = VarintCodec.encode(values, 0, COUNT);
+
+        assertThat(VarintCodec.decode(encoded, COUNT)).containsExactly(values);
+    }
+
+    @Test
+    void shouldEncodeOnlyGivenRange() {
+        long[] timestamps = {5, 10, 20, 30, 45, 60};
+
+        assertThat(DeltaOfDeltaCodec.decode(DeltaOfDeltaCodec.encode(timestamps, 2, 5), 3)).containsExactly(20, 30, 45);
+        assertThat(DeltaOfDeltaCodec.decode(DeltaOfDeltaCodec.encode(timestamps, 3, 4), 1)).containsExactly(30);
+        assertThat(DeltaOfDeltaCodec.decode(DeltaOfDeltaCodec.encode(timestamps, 3, 3), 0)).isEmpty();
+    }
+
+}
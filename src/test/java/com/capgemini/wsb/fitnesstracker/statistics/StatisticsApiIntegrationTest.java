@@ -0,0 +1,158 @@
+package com.capgemini.wsb.fitnesstracker.statistics;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.statistics.api.StatisticsService;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static java.time.LocalDate.now;
+import static java.util.UUID.randomUUID;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class StatisticsApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Test
+    void shouldReturnEmptyStatistics_whenUserHasNoTrainings() throws Exception {
+        User user1 = existingUser(generateClient());
+
+        mockMvc.perform(get("/v1/statistics/{userId}", user1.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(user1.getId()))
+                .andExpect(jsonPath("$.totalTrainings").value(0))
+                .andExpect(jsonPath("$.totalDistance").value(0.0));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenUserDoesNotExist() throws Exception {
+        mockMvc.perform(get("/v1/statistics/{userId}", 999_999).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldUpdateStatistics_whenCreatingUpdatingAndDeletingTrainings() throws Exception {
+        User user1 = existingUser(generateClient());
+        User user2 = existingUser(generateClient());
+
+        createTraining(user1, 10.0);
+        createTraining(user1, 5.5);
+        assertStatistics(user1, 2, 15.5);
+
+        Training training = getAllTrainings().get(0);
+        double originalDistance = training.getDistance();
+        mockMvc.perform(put("/v1/trainings/{trainingId}", training.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"distance\": 20.0}"))
+                .andExpect(status().isOk());
+        assertStatistics(user1, 2, 15.5 - originalDistance + 20.0);
+
+        mockMvc.perform(put("/v1/trainings/{trainingId}", training.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\": %s}".formatted(user2.getId())))
+                .andExpect(status().isOk());
+        assertStatistics(user1, 1, 15.5 - originalDistance);
+        assertStatistics(user2, 1, 20.0);
+
+        mockMvc.perform(delete("/v1/trainings/{trainingId}", training.getId()))
+                .andExpect(status().isNoContent());
+        assertStatistics(user2, 0, 0.0);
+    }
+
+    @Test
+    void shouldReturnWeeklyRollups_whenGettingRollupsOfUser() throws Exception {
+        User user1 = existingUser(generateClient());
+        createWeekOfTrainings(user1);
+
+        assertWeeklyRollups(user1);
+    }
+
+    @Test
+    void shouldRecomputeSameRollups_whenRebuildingStatistics() throws Exception {
+        User user1 = existingUser(generateClient());
+        createWeekOfTrainings(user1);
+
+        statisticsService.rebuildStatistics();
+
+        assertWeeklyRollups(user1);
+        assertStatistics(user1, 4, 22.5);
+    }
+
+    private void createWeekOfTrainings(User user) throws Exception {
+        createTraining(user, "2024-04-01T11:00:00", "2024-04-01T12:00:00", "RUNNING", 10.0);
+        createTraining(user, "2024-04-07T23:30:00", "2024-04-08T00:00:00", "RUNNING", 5.0);
+        createTraining(user, "2024-04-03T11:00:00", "2024-04-03T12:00:00", "TENNIS", 0.0);
+        createTraining(user, "2024-04-08T11:00:00", "2024-04-08T12:00:00", "RUNNING", 7.5);
+    }
+
+    private void assertWeeklyRollups(User user1) throws Exception {
+        mockMvc.perform(get("/v1/statistics/{userId}/rollups", user1.getId())
+                        .param("granularity", "WEEK")
+                        .param("from", "2024-04-03")
+                        .param("to", "2024-04-30")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bucketStart").value("2024-04-01"))
+                .andExpect(jsonPath("$[0].activityType").value("RUNNING"))
+                .andExpect(jsonPath("$[0].sessions").value(2))
+                .andExpect(jsonPath("$[0].totalDistance").value(15.0))
+                .andExpect(jsonPath("$[0].totalDurationSeconds").value(5400))
+                .andExpect(jsonPath("$[1].bucketStart").value("2024-04-01"))
+                .andExpect(jsonPath("$[1].activityType").value("TENNIS"))
+                .andExpect(jsonPath("$[1].sessions").value(1))
+                .andExpect(jsonPath("$[2].bucketStart").value("2024-04-08"))
+                .andExpect(jsonPath("$[2].sessions").value(1))
+                .andExpect(jsonPath("$[2].totalDistance").value(7.5))
+                .andExpect(jsonPath("$[3]").doesNotExist());
+    }
+
+    private void createTraining(User user, double distance) throws Exception {
+        createTraining(user, "2024-04-01T11:00:00", "2024-04-01T11:00:00", "RUNNING", distance);
+    }
+
+    private void createTraining(User user, String startTime, String endTime, String activityType, double distance) throws Exception {
+        String requestBody = """
+                {
+                    "userId": "%s",
+                    "startTime": "%s",
+                    "endTime": "%s",
+                    "activityType": "%s",
+                    "distance": %s,
+                    "averageSpeed": 8.2
+                }
+                """.formatted(user.getId(), startTime, endTime, activityType, distance);
+        mockMvc.perform(post("/v1/trainings").contentType(MediaType.APPLICATION_JSON).content(requestBody))
+                .andExpect(status().isCreated());
+    }
+
+    private void assertStatistics(User user, int totalTrainings, double totalDistance) throws Exception {
+        mockMvc.perform(get("/v1/statistics/{userId}", user.getId()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(totalTrainings))
+                .andExpect(jsonPath("$.totalDistance").value(totalDistance));
+    }
+
+    private static User generateClient() {
+        return new User(randomUUID().toString(), randomUUID().toString(), now(), randomUUID().toString());
+    }
+
+}
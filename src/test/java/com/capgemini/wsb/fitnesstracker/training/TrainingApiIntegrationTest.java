@@ -9,22 +9,29 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Date;
 
 import static java.time.LocalDate.now;
 import static java.util.UUID.randomUUID;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @IntegrationTest
 @Transactional
 @AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "statistics.zone=Europe/Warsaw")
 class TrainingApiIntegrationTest extends IntegrationTestBase {
 
     @Autowired
@@ -102,6 +109,22 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[1]").doesNotExist());
     }
 
+    @Test
+    void shouldStartFinishedTrainingsDayInRollupZone_whenGettingAllFinishedTrainingsAfterTime() throws Exception {
+        User user1 = existingUser(generateClient());
+        // 01:30 and 23:30 in Europe/Warsaw
+        Training training1 = persistTraining(new Training(user1, Date.from(Instant.parse("2024-05-17T22:30:00Z")),
+                Date.from(Instant.parse("2024-05-17T23:30:00Z")), ActivityType.RUNNING, 10, 10));
+        persistTraining(new Training(user1, Date.from(Instant.parse("2024-05-17T20:30:00Z")),
+                Date.from(Instant.parse("2024-05-17T21:30:00Z")), ActivityType.RUNNING, 10, 10));
+
+        mockMvc.perform(get("/v1/trainings/finished/{afterTime}", "2024-05-18").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(training1.getId()));
+    }
+
     @Test
     void getAllTrainingByActivityType_whenGettingAllTrainingByActivityType() throws Exception {
 
@@ -128,6 +151,34 @@ class TrainingApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[2]").doesNotExist());
     }
 
+    @Test
+    void shouldReturnNextPageOfTrainings_whenGettingTrainingsByActivityTypeAfterCursor() throws Exception {
+
+        User user1 = existingUser(generateClient());
+        Training training1 = persistTraining(generateTrainingWithActivityType(user1, ActivityType.TENNIS));
+        Training training2 = persistTraining(generateTrainingWithActivityType(user1, ActivityType.TENNIS));
+        Training training3 = persistTraining(generateTrainingWithActivityType(user1, ActivityType.TENNIS));
+
+        mockMvc.perform(get("/v1/trainings/activityType").param("activityType", "TENNIS").param("limit", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", containsString("afterId=" + training2.getId())))
+                .andExpect(header().string("Link", containsString("afterEndTime=" + training2.getEndTime().getTime())))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(training1.getId()))
+                .andExpect(jsonPath("$[1].id").value(training2.getId()));
+
+        mockMvc.perform(get("/v1/trainings/activityType").param("activityType", "TENNIS").param("limit", "2")
+                        .param("afterEndTime", String.valueOf(training2.getEndTime().getTime()))
+                        .param("afterId", training2.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(training3.getId()));
+    }
+
     @Test
     void shouldPersistTraining_whenCreatingNewTraining() throws Exception {
 
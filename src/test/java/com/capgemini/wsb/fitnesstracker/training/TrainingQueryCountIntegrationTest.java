@@ -0,0 +1,146 @@
+package com.capgemini.wsb.fitnesstracker.training;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the training endpoints against N+1 selects - every listing has to load the trainings and their users with a
+ * single statement, regardless of the number of distinct users. Guards the bulk creation against writing the derived data
+ * once per training.
+ */
+@IntegrationTest
+@Transactional
+@AutoConfigureMockMvc(addFilters = false)
+class TrainingQueryCountIntegrationTest extends IntegrationTestBase {
+
+    private static final int USERS = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    private Statistics statistics;
+
+    private User firstUser;
+
+    private Training firstTraining;
+
+    @BeforeEach
+    void setUpTrainings() {
+        for (int i = 0; i < USERS; i++) {
+            User user = existingUser(new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID() + "@domain.com"));
+            Training training = persistTraining(new Training(user, date(2024, 1, 10 + i), date(2024, 1, 11 + i), ActivityType.RUNNING, 10, 8));
+            if (i == 0) {
+                firstUser = user;
+                firstTraining = training;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadTrainingsWithUsersInOneStatement_whenGettingAllTrainings() throws Exception {
+        assertStatements(get("/v1/trainings"), USERS, 1);
+    }
+
+    @Test
+    void shouldLoadTrainingsWithUsersInOneStatement_whenGettingTrainingsOfUser() throws Exception {
+        assertStatements(get("/v1/trainings/{userId}", firstUser.getId()), 1, 1);
+    }
+
+    @Test
+    void shouldLoadTrainingsWithUsersInOneStatement_whenGettingFinishedTrainings() throws Exception {
+        assertStatements(get("/v1/trainings/finished/{afterTime}", "2024-01-01"), USERS, 1);
+    }
+
+    @Test
+    void shouldLoadTrainingsWithUsersInOneStatement_whenGettingTrainingsByActivityType() throws Exception {
+        assertStatements(get("/v1/trainings/activityType").param("activityType", "RUNNING"), USERS, 1);
+    }
+
+    @Test
+    void shouldNotLoadUser_whenDeletingTraining() throws Exception {
+        mockMvc.perform(delete("/v1/trainings/{trainingId}", firstTraining.getId()))
+                .andExpect(status().isNoContent());
+        entityManager.flush();
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    @Test
+    void shouldUpdateDerivedDataOncePerUser_whenCreatingTrainingsInBulk() {
+        // the statistics and rollups of the user exist already, as after its first upload
+        trainingService.createTrainings(List.of(trainingRequest()));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        int trainings = 100;
+        trainingService.createTrainings(IntStream.range(0, trainings).mapToObj(i -> trainingRequest()).toList());
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(trainings);
+        // a batch of inserts, the sequence, one update of the statistics and one of each rollup granularity
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(10);
+    }
+
+    private TrainingRequestDto trainingRequest() {
+        return new TrainingRequestDto(firstUser.getId(), date(2024, 2, 1), date(2024, 2, 1), ActivityType.RUNNING, 5.0, 8.0);
+    }
+
+    private void assertStatements(RequestBuilder request, int trainings, long statements) throws Exception {
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(trainings)));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+        assertThat(statistics.getEntityFetchCount()).isZero();
+    }
+
+    private static Date date(int year, int month, int day) {
+        return Date.from(LocalDate.of(year, month, day).atStartOfDay().toInstant(ZoneOffset.UTC));
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.exception.api.BusinessException;
+import com.capgemini.wsb.fitnesstracker.user.api.UserEmailDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailSearchIndexTest {
+
+    private EmailSearchIndex emailSearchIndex;
+
+    @BeforeEach
+    void setup() {
+        emailSearchIndex = new EmailSearchIndex();
+        emailSearchIndex.load(Stream.of(
+                new UserEmailDto(1L, "Emma.Johnson@domain.com"),
+                new UserEmailDto(2L, "ethan.taylor@domain.com"),
+                new UserEmailDto(3L, "olivia.davis@other.org"),
+                new UserEmailDto(4L, "johnson@domain.com")));
+    }
+
+    @Test
+    void shouldFindUsersByFragment_ignoringCase() {
+        assertThat(emailSearchIndex.search("JOHNSON", 10))
+                .extracting(UserEmailDto::id)
+                .containsExactly(4L, 1L);
+    }
+
+    @Test
+    void shouldRankExactAndPrefixMatchesFirst() {
+        assertThat(emailSearchIndex.search("johnson@domain.com", 10))
+                .extracting(UserEmailDto::id)
+                .containsExactly(4L, 1L);
+        assertThat(emailSearchIndex.search("joh", 10))
+                .extracting(UserEmailDto::id)
+                .containsExactly(4L, 1L);
+    }
+
+    @Test
+    void shouldRejectFragmentShorterThanGram() {
+        assertThatThrownBy(() -> emailSearchIndex.search(" Jo ", 10))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Email fragment must have at least 3 characters");
+    }
+
+    @Test
+    void shouldReturnAtMostLimitMatches() {
+        assertThat(emailSearchIndex.search("domain", 2)).hasSize(2);
+    }
+
+    @Test
+    void shouldReturnOriginalEmail() {
+        assertThat(emailSearchIndex.search("emma", 10))
+                .containsExactly(new UserEmailDto(1L, "Emma.Johnson@domain.com"));
+    }
+
+    @Test
+    void shouldNotFindFragmentSpreadOverGrams() {
+        assertThat(emailSearchIndex.search("son@other", 10)).isEmpty();
+    }
+
+    @Test
+    void shouldFollowUpdatesAndRemovals() {
+        assertThat(emailSearchIndex.put(3L, "new.address@domain.com")).isEqualTo("olivia.davis@other.org");
+        assertThat(emailSearchIndex.remove(2L)).isEqualTo("ethan.taylor@domain.com");
+
+        assertThat(emailSearchIndex.search("olivia", 10)).isEmpty();
+        assertThat(emailSearchIndex.search("ethan", 10)).isEmpty();
+        assertThat(emailSearchIndex.search("new.add", 10)).extracting(UserEmailDto::id).containsExactly(3L);
+    }
+
+    @Test
+    void shouldPublishTransactionalChanges_onlyAfterCommit() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            emailSearchIndex.putAfterCommit(5L, "new.user@domain.com");
+            emailSearchIndex.removeAfterCommit(2L);
+
+            assertThat(emailSearchIndex.search("new.user", 10)).extracting(UserEmailDto::id).containsExactly(5L);
+            assertThat(emailSearchIndex.search("ethan", 10)).isEmpty();
+            assertThat(searchInOtherThread("new.user")).isEmpty();
+            assertThat(searchInOtherThread("ethan")).extracting(UserEmailDto::id).containsExactly(2L);
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(searchInOtherThread("new.user")).extracting(UserEmailDto::id).containsExactly(5L);
+        assertThat(searchInOtherThread("ethan")).isEmpty();
+    }
+
+    @Test
+    void shouldDropTransactionalChanges_whenRolledBack() throws Exception {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            emailSearchIndex.putAfterCommit(5L, "temporary@domain.com");
+        } finally {
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(emailSearchIndex.search("temporary", 10)).isEmpty();
+    }
+
+    private List<UserEmailDto> searchInOtherThread(String fragment) throws Exception {
+        return CompletableFuture.supplyAsync(() -> emailSearchIndex.search(fragment, 10)).get();
+    }
+
+}
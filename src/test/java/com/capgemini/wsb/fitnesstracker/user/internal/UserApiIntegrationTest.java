@@ -3,22 +3,34 @@ package com.capgemini.wsb.fitnesstracker.user.internal;
 import com.capgemini.wsb.fitnesstracker.IntegrationTest;
 import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.net.URI;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static java.time.format.DateTimeFormatter.ISO_DATE;
 import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +42,9 @@ class UserApiIntegrationTest extends IntegrationTestBase {
     @Autowired
     private MockMvc mockMvc;
 
+    @SpyBean
+    private EmailSearchIndex emailSearchIndex;
+
     @Test
     void shouldReturnAllUsers_whenGettingAllUsers() throws Exception {
         User user1 = existingUser(generateUser());
@@ -50,6 +65,51 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[2]").doesNotExist());
     }
 
+    @Test
+    void shouldReturnNextPageOfUsers_whenGettingUsersAfterCursor() throws Exception {
+        User user1 = existingUser(generateUser());
+        User user2 = existingUser(generateUser());
+        User user3 = existingUser(generateUser());
+
+        mockMvc.perform(get("/v1/users").param("limit", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", containsString("afterId=" + user2.getId())))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(user1.getId()))
+                .andExpect(jsonPath("$[1].id").value(user2.getId()));
+
+        mockMvc.perform(get("/v1/users").param("limit", "2").param("afterId", user2.getId().toString()).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(user3.getId()));
+    }
+
+    @Test
+    void shouldVisitEveryUserOnceInIdOrder_whenFollowingNextPageLinks() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(existingUser(generateUser()).getId());
+        }
+
+        for (String path : List.of("/v1/users", "/v1/users/simple", "/v1/users/email")) {
+            List<Long> visited = new ArrayList<>();
+            String next = path + "?limit=3";
+            while (next != null) {
+                MockHttpServletResponse response = mockMvc.perform(get(URI.create(next)).contentType(MediaType.APPLICATION_JSON))
+                        .andExpect(status().isOk())
+                        .andReturn()
+                        .getResponse();
+                JsonPath.<List<Number>>read(response.getContentAsString(), "$[*].id").forEach(id -> visited.add(id.longValue()));
+                String link = response.getHeader("Link");
+                next = link == null ? null : link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+            }
+            assertThat(visited).as(path).containsExactlyElementsOf(ids);
+        }
+    }
+
     @Test
     void shouldReturnAllSimpleUsers_whenGettingAllUsers() throws Exception {
         User user1 = existingUser(generateUser());
@@ -108,6 +168,29 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[0].email").value(user1.getEmail()));
     }
 
+    @Test
+    void shouldSearchDatabase_whenEmailSearchIndexIsNotLoaded() throws Exception {
+        doReturn(false).when(emailSearchIndex).isLoaded();
+        String suffix = randomUUID() + "@domain.com";
+        User user1 = existingUser(new User("Emma", "Johnson", LocalDate.of(1990, 5, 12), "emma." + suffix));
+        User user2 = existingUser(new User("Liam", "Smith", LocalDate.of(1985, 11, 3), "liam.emma." + suffix));
+
+        mockMvc.perform(get("/v1/users/email").param("email", "EMMA." + suffix).contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(user1.getId().intValue()))
+                .andExpect(jsonPath("$[1].id").value(user2.getId().intValue()));
+        verify(emailSearchIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenSearchingTooShortEmailFragment() throws Exception {
+        mockMvc.perform(get("/v1/users/email").param("email", "em").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldReturnAllUsersOlderThan_whenGettingAllUsersOlderThan() throws Exception {
         User user1 = existingUser(generateUserWithDate(LocalDate.of(2000, 8, 11)));
@@ -125,6 +208,46 @@ class UserApiIntegrationTest extends IntegrationTestBase {
                 .andExpect(jsonPath("$[1]").doesNotExist());
     }
 
+    @Test
+    void shouldReturnNextPageOfUsersOlderThan_whenGettingUsersAfterCursor() throws Exception {
+        User user1 = existingUser(generateUserWithDate(LocalDate.of(1980, 1, 1)));
+        User user2 = existingUser(generateUserWithDate(LocalDate.of(1990, 1, 1)));
+        User user3 = existingUser(generateUserWithDate(LocalDate.of(1980, 1, 1)));
+        User user4 = existingUser(generateUserWithDate(LocalDate.of(1985, 1, 1)));
+        existingUser(generateUserWithDate(LocalDate.of(2024, 8, 11)));
+
+        mockMvc.perform(get("/v1/users/older/{time}", LocalDate.of(2024, 8, 10)).param("limit", "2").contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", containsString("afterBirthdate=1980-01-01")))
+                .andExpect(header().string("Link", containsString("afterId=" + user3.getId())))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(user1.getId()))
+                .andExpect(jsonPath("$[1].id").value(user3.getId()));
+
+        mockMvc.perform(get("/v1/users/older/{time}", LocalDate.of(2024, 8, 10))
+                        .param("limit", "2")
+                        .param("afterBirthdate", "1980-01-01")
+                        .param("afterId", user3.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Link", containsString("afterBirthdate=1990-01-01")))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].id").value(user4.getId()))
+                .andExpect(jsonPath("$[1].id").value(user2.getId()));
+
+        mockMvc.perform(get("/v1/users/older/{time}", LocalDate.of(2024, 8, 10))
+                        .param("limit", "2")
+                        .param("afterBirthdate", "1990-01-01")
+                        .param("afterId", user2.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
     @Test
     void shouldRemoveUserFromRepository_whenDeletingClient() throws Exception {
         User user1 = existingUser(generateUser());
@@ -216,6 +339,26 @@ class UserApiIntegrationTest extends IntegrationTestBase {
         assertThat(user.getEmail()).isEqualTo(USER_EMAIL);
     }
 
+    @Test
+    void shouldUpdateUser_whenKeepingOwnEmail() throws Exception {
+        User user1 = existingUser(generateUser());
+
+        String updateRequest = """
+                {
+                "firstName": "Mike",
+                "email": "%s"
+                }
+                """.formatted(user1.getEmail());
+
+        mockMvc.perform(put("/v1/users/{userId}", user1.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(updateRequest))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Mike"))
+                .andExpect(jsonPath("$.email").value(user1.getEmail()));
+    }
+
     public static User generateUser() {
         return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID().toString());
     }
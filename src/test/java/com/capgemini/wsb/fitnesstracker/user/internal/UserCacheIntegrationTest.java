@@ -0,0 +1,102 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.training.api.Training;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingRequestDto;
+import com.capgemini.wsb.fitnesstracker.training.api.TrainingService;
+import com.capgemini.wsb.fitnesstracker.training.internal.ActivityType;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.capgemini.wsb.fitnesstracker.user.api.UserDto;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.Date;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class UserCacheIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private UserServiceImpl userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TrainingService trainingService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUpStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache_whenUserIsUnchanged() {
+        User user = existingUser(generateUser());
+        userService.getUser(user.getId());
+        userService.getUserByEmail(user.getEmail());
+        statistics.clear();
+
+        assertThat(userService.getUser(user.getId())).isPresent();
+        assertThat(userService.getUserByEmail(user.getEmail())).isPresent();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void shouldEvictUserFromCaches_whenUpdatingUser() {
+        User user = existingUser(generateUser());
+        String previousEmail = user.getEmail();
+        userService.getUser(user.getId());
+        userService.getUserByEmail(previousEmail);
+
+        String newEmail = randomUUID() + "@domain.com";
+        userService.updateUser(user.getId(), new UserDto(null, "Changed", null, null, newEmail));
+
+        assertThat(userService.getUser(user.getId())).hasValueSatisfying(cached -> {
+            assertThat(cached.getFirstName()).isEqualTo("Changed");
+            assertThat(cached.getEmail()).isEqualTo(newEmail);
+        });
+        assertThat(userService.getUserByEmail(previousEmail)).isEmpty();
+        assertThat(userService.getUserByEmail(newEmail)).isPresent();
+    }
+
+    @Test
+    void shouldEvictUserFromCaches_whenDeletingUser() {
+        User user = existingUser(generateUser());
+        userService.getUser(user.getId());
+        userService.getUserByEmail(user.getEmail());
+
+        userService.deleteUser(user.getId());
+
+        assertThat(userService.getUser(user.getId())).isEmpty();
+        assertThat(userService.getUserByEmail(user.getEmail())).isEmpty();
+    }
+
+    @Test
+    void shouldKeepUserInSecondLevelCache_whenTrainingsOfUserChange() {
+        User user = existingUser(generateUser());
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isTrue();
+
+        Date start = new Date();
+        Training training = trainingService.createTraining(new TrainingRequestDto(user.getId(), start, start, ActivityType.RUNNING, 10.0, 8.0));
+        trainingService.updateTraining(training.getId(), new TrainingRequestDto(null, null, null, null, 12.0, null));
+
+        assertThat(entityManagerFactory.getCache().contains(User.class, user.getId())).isTrue();
+    }
+
+    private static User generateUser() {
+        return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID() + "@domain.com");
+    }
+
+}
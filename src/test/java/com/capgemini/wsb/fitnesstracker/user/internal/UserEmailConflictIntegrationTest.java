@@ -0,0 +1,70 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The email uniqueness is enforced by the {@code uk_users_email} constraint only, the conflicts are detected on flush.
+ * Not transactional, so that every request commits or fails on its own.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserEmailConflictIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldReturnConflict_whenCreatingUserWithTakenEmail() throws Exception {
+        User existing = existingUser(generateUser());
+
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"firstName": "Mike", "lastName": "Scott", "birthdate": "1999-09-29", "email": "%s"}
+                                """.formatted(existing.getEmail())))
+                .andDo(log())
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Email " + existing.getEmail() + " is already in use."));
+
+        assertThat(getAllUsers()).extracting(User::getId).containsExactly(existing.getId());
+    }
+
+    @Test
+    void shouldReturnConflict_whenUpdatingUserToTakenEmail() throws Exception {
+        User user1 = existingUser(generateUser());
+        User user2 = existingUser(generateUser());
+
+        mockMvc.perform(put("/v1/users/{userId}", user2.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"email": "%s"}
+                                """.formatted(user1.getEmail())))
+                .andDo(log())
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Email " + user1.getEmail() + " is already in use."));
+
+        assertThat(getAllUsers()).extracting(User::getEmail).containsExactlyInAnyOrder(user1.getEmail(), user2.getEmail());
+    }
+
+    private static User generateUser() {
+        return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.of(1990, 1, 1), randomUUID() + "@domain.com");
+    }
+
+}
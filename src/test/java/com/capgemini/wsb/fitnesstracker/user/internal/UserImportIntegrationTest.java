@@ -0,0 +1,256 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserImportIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void shouldImportUsers_whenUploadingNdjson() throws Exception {
+        String emma = randomEmail();
+        String liam = randomEmail();
+
+        importUsers(MediaType.APPLICATION_NDJSON, """
+                {"firstName": "Emma", "lastName": "Johnson", "birthdate": "1990-05-12", "email": "%s"}
+
+                {"firstName": "Liam", "lastName": "Smith", "birthdate": "1985-11-03", "email": "%s"}
+                """.formatted(emma, liam))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.errors", hasSize(0)));
+
+        assertThat(getAllUsers())
+                .extracting(User::getFirstName, User::getLastName, User::getBirthdate, User::getEmail)
+                .containsExactlyInAnyOrder(
+                        tuple("Emma", "Johnson", LocalDate.of(1990, 5, 12), emma),
+                        tuple("Liam", "Smith", LocalDate.of(1985, 11, 3), liam));
+    }
+
+    @Test
+    void shouldImportUsers_whenUploadingCsv() throws Exception {
+        String emma = randomEmail();
+
+        importUsers(UserImporter.TEXT_CSV, """
+                email,birthdate,lastName,firstName
+                %s,1990-05-12,"Johnson, Jr.","Emma ""Em"" Rose"
+                """.formatted(emma))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(1))
+                .andExpect(jsonPath("$.imported").value(1));
+
+        assertThat(getAllUsers()).singleElement().satisfies(user -> {
+            assertThat(user.getFirstName()).isEqualTo("Emma \"Em\" Rose");
+            assertThat(user.getLastName()).isEqualTo("Johnson, Jr.");
+            assertThat(user.getBirthdate()).isEqualTo(LocalDate.of(1990, 5, 12));
+            assertThat(user.getEmail()).isEqualTo(emma);
+        });
+    }
+
+    @Test
+    void shouldRejectUpload_whenCsvHeaderIsMissingColumns() throws Exception {
+        importUsers(UserImporter.TEXT_CSV, """
+                firstName,lastName,email
+                Emma,Johnson,%s
+                """.formatted(randomEmail()))
+                .andExpect(status().isBadRequest());
+
+        assertThat(getAllUsers()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectInvalidRecords_whenImportingUsers() throws Exception {
+        String valid = randomEmail();
+
+        importUsers(MediaType.APPLICATION_NDJSON, """
+                {"firstName": "Emma", "lastName": "Johnson", "birthdate": "1990-05-12", "email": "%s"}
+                {"firstName": "Liam", "lastName": "Smith", "birthdate": "1985-11-03", "email": "not-an-email"}
+                {"firstName": "", "lastName": "Smith", "birthdate": "1985-11-03", "email": "%s"}
+                {"firstName": "Noah", "lastName": "Brown", "birthdate": "2999-01-01", "email": "%s"}
+                {"firstName": "Olivia", "lastName": "Davis", "birthdate": "1985-13-45", "email": "%s"}
+                {"id": 1, "firstName": "Ava", "lastName": "Miller", "birthdate": "1985-11-03", "email": "%s"}
+                not json
+                """.formatted(valid, randomEmail(), randomEmail(), randomEmail(), randomEmail()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(7))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(6))
+                .andExpect(jsonPath("$.errors[*].line").value(contains(2, 3, 4, 5, 6, 7)))
+                .andExpect(jsonPath("$.errors[0].message").value("Email not-an-email is not valid"))
+                .andExpect(jsonPath("$.errors[1].message").value("First name is required"))
+                .andExpect(jsonPath("$.errors[2].message").value("Birthdate 2999-01-01 is not in the past"))
+                .andExpect(jsonPath("$.errors[3].message").value(containsString("Malformed record")))
+                .andExpect(jsonPath("$.errors[4].message").value("User ID must not be provided"))
+                .andExpect(jsonPath("$.errors[5].message").value(containsString("Malformed record")));
+
+        assertThat(getAllUsers()).extracting(User::getEmail).containsExactly(valid);
+    }
+
+    @Test
+    void shouldRejectDuplicatedEmails_whenImportingUsers() throws Exception {
+        String existing = existingUser(new User("Emma", "Johnson", LocalDate.of(1990, 5, 12), randomEmail())).getEmail();
+        String duplicated = randomEmail();
+
+        importUsers(UserImporter.TEXT_CSV, """
+                firstName,lastName,birthdate,email
+                Liam,Smith,1985-11-03,%s
+                Noah,Brown,1992-02-14,%s
+                Emma,Johnson,1990-05-12,%s
+                """.formatted(duplicated, duplicated, existing))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(2))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Email %s is duplicated in the file".formatted(duplicated)))
+                .andExpect(jsonPath("$.errors[1].line").value(4))
+                .andExpect(jsonPath("$.errors[1].message").value("Email %s is already in use".formatted(existing)));
+
+        assertThat(getAllUsers()).extracting(User::getFirstName).containsExactlyInAnyOrder("Emma", "Liam");
+    }
+
+    @Test
+    void shouldRetryRecordByRecord_whenChunkInsertConflicts() throws Exception {
+        // an email taken after the chunk was checked against the database, as by a concurrent import
+        String taken = existingUser(new User("Emma", "Johnson", LocalDate.of(1990, 5, 12), randomEmail())).getEmail();
+        doReturn(Set.of()).when(userRepository).findExistingEmails(any());
+        String liam = randomEmail();
+        String noah = randomEmail();
+
+        importUsers(UserImporter.TEXT_CSV, """
+                firstName,lastName,birthdate,email
+                Liam,Smith,1985-11-03,%s
+                Emma,Johnson,1990-05-12,%s
+                Noah,Brown,1992-02-14,%s
+                """.formatted(liam, taken, noah))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("Email %s is already in use".formatted(taken)));
+
+        assertThat(getAllUsers()).extracting(User::getEmail).containsExactlyInAnyOrder(taken, liam, noah);
+    }
+
+    @Test
+    void shouldRejectTooLongValues_whenImportingUsers() throws Exception {
+        String valid = randomEmail();
+        String longName = "L".repeat(User.NAME_MAX_LENGTH + 1);
+
+        importUsers(UserImporter.TEXT_CSV, """
+                firstName,lastName,birthdate,email
+                Emma,Johnson,1990-05-12,%s
+                %s,Smith,1985-11-03,%s
+                Noah,%s,1992-02-14,%s
+                Ava,Miller,1992-02-14,%s@domain.com
+                """.formatted(valid, longName, randomEmail(), longName, randomEmail(), "e".repeat(User.EMAIL_MAX_LENGTH)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("First name is longer than 255 characters"))
+                .andExpect(jsonPath("$.errors[1].message").value("Last name is longer than 255 characters"))
+                .andExpect(jsonPath("$.errors[2].message").value("Email is longer than 255 characters"));
+
+        assertThat(getAllUsers()).extracting(User::getEmail).containsExactly(valid);
+    }
+
+    @Test
+    void shouldRejectRecordAndContinue_whenInsertViolatesOtherConstraint() throws Exception {
+        // fail the flush of the whole chunk and of its second record on the retry
+        AtomicInteger flushes = new AtomicInteger();
+        doAnswer(invocation -> {
+            int flush = flushes.incrementAndGet();
+            if (flush == 1 || flush == 3) {
+                throw new DataIntegrityViolationException("value too long");
+            }
+            entityManager.flush();
+            return null;
+        }).when(userRepository).flush();
+        String emma = randomEmail();
+        String noah = randomEmail();
+
+        importUsers(UserImporter.TEXT_CSV, """
+                firstName,lastName,birthdate,email
+                Emma,Johnson,1990-05-12,%s
+                Liam,Smith,1985-11-03,%s
+                Noah,Brown,1992-02-14,%s
+                """.formatted(emma, randomEmail(), noah))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("User could not be stored"));
+
+        assertThat(getAllUsers()).extracting(User::getEmail).containsExactlyInAnyOrder(emma, noah);
+    }
+
+    @Test
+    void shouldLimitReportedErrors_whenManyRecordsAreRejected() throws Exception {
+        int rejected = UserImporter.MAX_REPORTED_ERRORS + 5;
+        String upload = IntStream.range(0, rejected)
+                .mapToObj(i -> "Emma,Johnson,1990-05-12,invalid-email-" + i)
+                .collect(Collectors.joining("\n", "firstName,lastName,birthdate,email\n", "\n"));
+
+        importUsers(UserImporter.TEXT_CSV, upload)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(rejected))
+                .andExpect(jsonPath("$.imported").value(0))
+                .andExpect(jsonPath("$.failed").value(rejected))
+                .andExpect(jsonPath("$.errors", hasSize(UserImporter.MAX_REPORTED_ERRORS)))
+                .andExpect(jsonPath("$.errors[0].line").value(2));
+    }
+
+    private ResultActions importUsers(MediaType contentType, String content) throws Exception {
+        return mockMvc.perform(post("/v1/users/import").contentType(contentType).content(content))
+                .andDo(log());
+    }
+
+    private static String randomEmail() {
+        return randomUUID() + "@domain.com";
+    }
+
+}
@@ -0,0 +1,161 @@
+package com.capgemini.wsb.fitnesstracker.user.internal;
+
+import com.capgemini.wsb.fitnesstracker.IntegrationTest;
+import com.capgemini.wsb.fitnesstracker.IntegrationTestBase;
+import com.capgemini.wsb.fitnesstracker.user.api.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static java.util.UUID.randomUUID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The streamed exports are written by an asynchronous request in its own transaction, the users are committed beforehand.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserStreamingIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void shouldStreamAllUsers_whenRequestingJsonArray() throws Exception {
+        User user1 = existingUser(generateUserWithDate(LocalDate.of(1990, 1, 1)));
+        User user2 = existingUser(generateUserWithDate(LocalDate.of(1980, 1, 1)));
+
+        MvcResult result = stream(get("/v1/users").accept(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(user1.getId()))
+                .andExpect(jsonPath("$[0].email").value(user1.getEmail()))
+                .andExpect(jsonPath("$[1].id").value(user2.getId()));
+    }
+
+    @Test
+    void shouldStreamAllUsers_whenRequestingNdjson() throws Exception {
+        User user1 = existingUser(generateUserWithDate(LocalDate.of(1990, 1, 1)));
+        User user2 = existingUser(generateUserWithDate(LocalDate.of(1980, 1, 1)));
+
+        List<JsonNode> rows = ndjson(stream(get("/v1/users").accept(MediaType.APPLICATION_NDJSON)));
+
+        assertThat(rows).extracting(row -> row.get("id").asLong()).containsExactly(user1.getId(), user2.getId());
+        assertThat(rows).extracting(row -> row.get("birthdate").asText()).containsExactly("1990-01-01", "1980-01-01");
+    }
+
+    @Test
+    void shouldStreamSimpleUsersAndEmails_whenRequestingEitherFormat() throws Exception {
+        User user1 = existingUser(generateUserWithDate(LocalDate.of(1990, 1, 1)));
+        User user2 = existingUser(generateUserWithDate(LocalDate.of(1980, 1, 1)));
+
+        mockMvc.perform(asyncDispatch(stream(get("/v1/users/simple").accept(MediaType.APPLICATION_JSON))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$[0].id").value(user1.getId()))
+                .andExpect(jsonPath("$[0].firstName").value(user1.getFirstName()))
+                .andExpect(jsonPath("$[0].email").doesNotExist())
+                .andExpect(jsonPath("$[1].id").value(user2.getId()));
+
+        assertThat(ndjson(stream(get("/v1/users/simple").accept(MediaType.APPLICATION_NDJSON))))
+                .extracting(row -> row.get("lastName").asText())
+                .containsExactly(user1.getLastName(), user2.getLastName());
+
+        mockMvc.perform(asyncDispatch(stream(get("/v1/users/email").accept(MediaType.APPLICATION_JSON))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[1].email").value(user2.getEmail()));
+
+        assertThat(ndjson(stream(get("/v1/users/email").accept(MediaType.APPLICATION_NDJSON))))
+                .extracting(row -> row.get("email").asText())
+                .containsExactly(user1.getEmail(), user2.getEmail());
+    }
+
+    @Test
+    void shouldStreamUsersInIdOrder_whenExportSpansSeveralChunks() throws Exception {
+        int users = 2500;
+        List<User> saved = userRepository.saveAll(IntStream.range(0, users)
+                .mapToObj(i -> generateUserWithDate(LocalDate.of(1980, 1, 1).plusDays(i % 365)))
+                .toList());
+
+        List<JsonNode> rows = ndjson(stream(get("/v1/users").accept(MediaType.APPLICATION_NDJSON)));
+
+        assertThat(rows).extracting(row -> row.get("id").asLong())
+                .hasSize(users)
+                .isSorted()
+                .doesNotHaveDuplicates()
+                .containsExactlyElementsOf(saved.stream().map(User::getId).sorted().toList());
+    }
+
+    @Test
+    void shouldStreamUsersOlderThan_whenRequestingJsonArray() throws Exception {
+        User user1 = existingUser(generateUserWithDate(LocalDate.of(1990, 1, 1)));
+        User user2 = existingUser(generateUserWithDate(LocalDate.of(1980, 1, 1)));
+        existingUser(generateUserWithDate(LocalDate.of(2024, 8, 11)));
+
+        MvcResult result = stream(get("/v1/users/older/{time}", LocalDate.of(2024, 8, 10)).accept(MediaType.APPLICATION_JSON));
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(user2.getId()))
+                .andExpect(jsonPath("$[1].id").value(user1.getId()));
+    }
+
+    private MvcResult stream(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder.param("stream", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private List<JsonNode> ndjson(MvcResult result) throws Exception {
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            if (!line.isBlank()) {
+                rows.add(objectMapper.readTree(line));
+            }
+        }
+        return rows;
+    }
+
+    private static User generateUserWithDate(LocalDate date) {
+        return new User(randomUUID().toString(), randomUUID().toString(), date, randomUUID() + "@domain.com");
+    }
+
+}
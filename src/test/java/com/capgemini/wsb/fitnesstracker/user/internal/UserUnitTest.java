@@ -1,5 +1,6 @@
 package com.capgemini.wsb.fitnesstracker.user.internal;
 
+import com.capgemini.wsb.fitnesstracker.user.api.DuplicateEmailException;
 import com.capgemini.wsb.fitnesstracker.user.api.SimpleUserDto;
 import com.capgemini.wsb.fitnesstracker.user.api.UserDto;
 import com.capgemini.wsb.fitnesstracker.user.api.User;
@@ -19,6 +20,7 @@ import java.util.Optional;
 
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -75,8 +77,7 @@ class UserServiceTest {
         String email = "john.doe@example.com";
         User user = createMockUser(1L, "John", "Doe", "1990-01-01", email);
 
-        when(userService.getUserByEmail(email)).thenReturn(Optional.of(user));
-        when(userMapper.toUserEmailDto(user)).thenReturn(new UserEmailDto(user.getId(), user.getEmail()));
+        when(userService.searchUsersByEmail(email, 100)).thenReturn(List.of(new UserEmailDto(user.getId(), user.getEmail())));
 
         // When & Then
         mockMvc.perform(get("/v1/users/email").param("email", email))
@@ -90,9 +91,9 @@ class UserServiceTest {
         User user1 = createRandomMockUser(1L);
         User user2 = createRandomMockUser(2L);
 
-        when(userService.findAllUsers()).thenReturn(List.of(user1, user2));
-        when(userMapper.toUserEmailDto(user1)).thenReturn(new UserEmailDto(1L, user1.getEmail()));
-        when(userMapper.toUserEmailDto(user2)).thenReturn(new UserEmailDto(2L, user2.getEmail()));
+        when(userService.findUserEmails(null, 100)).thenReturn(List.of(
+                new UserEmailDto(1L, user1.getEmail()),
+                new UserEmailDto(2L, user2.getEmail())));
 
         mockMvc.perform(get("/v1/users/email"))
                 .andExpect(status().isOk())
@@ -103,12 +104,9 @@ class UserServiceTest {
 
     @Test
     void shouldReturnConflictWhenDuplicateEmailExceptionThrown() throws Exception {
-        Long userId = 1L;
         String duplicateEmail = "john.doe@example.com";
 
-        User user = createMockUser(userId, "John", "Doe", "1990-01-10", duplicateEmail);
-
-        when(userService.getUserByEmail(duplicateEmail)).thenReturn(Optional.of(user));
+        when(userService.createUser(any())).thenThrow(new DuplicateEmailException(duplicateEmail));
 
         String userPostRequest = """
                                                  
@@ -134,11 +132,9 @@ class UserServiceTest {
     @Test
     void shouldReturnSimpleUser() throws Exception {
         long userId = 1L;
-        User simpleUser = createMockUser(userId, "Jane", "Smith", "1999-06-15", "janesmith@mail.com");
         SimpleUserDto simpleUserDto = new SimpleUserDto(userId, "Jane", "Smith");
 
-        when(userService.findAllUsers()).thenReturn(List.of(simpleUser));
-        when(userMapper.toSimpleDto(simpleUser)).thenReturn(simpleUserDto);
+        when(userService.findSimpleUsers(null, 100)).thenReturn(List.of(simpleUserDto));
 
         mockMvc.perform(get("/v1/users/simple"))
                 .andExpect(status().isOk())